@@ -0,0 +1,190 @@
+package ru.mai.lessons.rpks.reactive.benchmarks;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Сервлетный и реактивный стеки под одной нагрузкой: 256 одновременных клиентов, общий
+ * PostgreSQL из переменных окружения DB_* и пул в 50 соединений у обоих. Кэш, ограничитель,
+ * объединение запросов и журнал доступа сервлетного приложения отключены, чтобы оба стека
+ * каждый раз обращались к базе.
+ */
+@Threads(256)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StackComparisonBenchmark {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  private static final int SEED_BATCH_SIZE = 1000;
+  private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+  @Param({"SERVLET", "SERVLET_VIRTUAL_THREADS", "REACTIVE"})
+  public String stack;
+
+  @Param({"10000"})
+  public int students;
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+
+  private Process process;
+  private String baseUrl;
+  private long minId;
+  private long maxId;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    int port = freePort();
+    // Схему создаёт Liquibase сервлетного приложения, поэтому оно запускается первым и заполняет базу.
+    process = launch("SERVLET", port);
+    baseUrl = "http://localhost:" + port + "/student";
+    try {
+      awaitStarted();
+      seed();
+    } finally {
+      stop();
+    }
+
+    port = freePort();
+    process = launch(stack, port);
+    baseUrl = "http://localhost:" + port + "/student";
+    awaitStarted();
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() throws InterruptedException {
+    if (process != null) {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+      process = null;
+    }
+  }
+
+  @Benchmark
+  public int getStudent() throws Exception {
+    long id = ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + "/get?id=" + id)).GET().build());
+  }
+
+  @Benchmark
+  public int listStudents() throws Exception {
+    long afterId = ThreadLocalRandom.current().nextLong(minId - 1, maxId);
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + "/list?afterId=" + afterId + "&limit=100")).GET().build());
+  }
+
+  private int send(HttpRequest request) throws Exception {
+    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Неожиданный код ответа " + response.statusCode());
+    }
+    return response.statusCode();
+  }
+
+  private void seed() throws Exception {
+    minId = Long.MAX_VALUE;
+    maxId = Long.MIN_VALUE;
+    for (int offset = 0; offset < students; offset += SEED_BATCH_SIZE) {
+      StringBuilder body = new StringBuilder("[");
+      for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, students); i++) {
+        if (i > offset) {
+          body.append(',');
+        }
+        body.append("{\"fullName\":\"Student").append(i).append("\",\"groupName\":\"М8О-411Б\"}");
+      }
+      body.append(']');
+
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(URI.create(baseUrl + "/save-batch"))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+              .build(),
+          HttpResponse.BodyHandlers.ofString()
+      );
+      Matcher matcher = ID.matcher(response.body());
+      while (matcher.find()) {
+        long id = Long.parseLong(matcher.group(1));
+        minId = Math.min(minId, id);
+        maxId = Math.max(maxId, id);
+      }
+    }
+
+    if (minId > maxId) {
+      throw new IllegalStateException("Не удалось заполнить базу студентами");
+    }
+  }
+
+  private void awaitStarted() throws Exception {
+    URI uri = URI.create(baseUrl + "/list?limit=1");
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return;
+      } catch (ConnectException ex) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("Приложение завершилось с кодом " + process.exitValue());
+        }
+      }
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    throw new IllegalStateException("Приложение не запустилось за " + STARTUP_TIMEOUT);
+  }
+
+  private Process launch(String launchStack, int port) throws IOException {
+    boolean reactive = "REACTIVE".equals(launchStack);
+
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-jar");
+    command.add(System.getProperty(reactive ? "stack.reactive.jar" : "stack.servlet.jar"));
+    command.add("--server.port=" + port);
+    command.add("--logging.level.root=WARN");
+    if (!reactive) {
+      command.add("--spring.threads.virtual.enabled=" + "SERVLET_VIRTUAL_THREADS".equals(launchStack));
+      command.add("--student.cache.enabled=false");
+      command.add("--student.limiter.enabled=false");
+      command.add("--student.coalescing.enabled=false");
+      command.add("--student.access-log.enabled=false");
+    }
+
+    return new ProcessBuilder(command)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.DISCARD)
+        .start();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package ru.mai.lessons.rpks.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import ru.mai.lessons.rpks.reactive.config.ReactiveStudentProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(ReactiveStudentProperties.class)
+public class ReactiveStudentApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveStudentApplication.class, args);
+	}
+}
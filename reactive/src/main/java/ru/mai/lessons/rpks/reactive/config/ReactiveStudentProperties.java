@@ -0,0 +1,38 @@
+package ru.mai.lessons.rpks.reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student")
+public class ReactiveStudentProperties {
+
+  private final Batch batch = new Batch();
+
+  private final Lookup lookup = new Lookup();
+
+  private final Export export = new Export();
+
+  @Getter
+  @Setter
+  public static class Batch {
+
+    private int chunkSize = 50;
+  }
+
+  @Getter
+  @Setter
+  public static class Lookup {
+
+    private int chunkSize = 512;
+  }
+
+  @Getter
+  @Setter
+  public static class Export {
+
+    private int fetchSize = 500;
+  }
+}
@@ -0,0 +1,110 @@
+package ru.mai.lessons.rpks.reactive.controllers;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+/**
+ * Реактивная реализация контракта {@code /student/*} сервлетного {@code StudentController}:
+ * те же пути, параметры, DTO и коды ответов.
+ */
+public interface ReactiveStudentController {
+
+  @PostMapping("/save")
+  Mono<StudentResponse> saveStudent(
+      @RequestBody @Valid StudentCreateRequest request,
+      @RequestHeader(value = "Idempotency-Key", required = false)
+      @Size(max = 100, message = "Ключ идемпотентности не должен превышать 100 символов")
+      String idempotencyKey);
+
+  @PostMapping("/save-batch")
+  Flux<StudentBatchItemResponse> saveStudents(
+      @RequestBody
+      @NotEmpty(message = "Список студентов не должен быть пустым")
+      @Size(max = 10000, message = "Размер пакета не должен превышать 10000 студентов")
+      List<StudentCreateRequest> requests);
+
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE
+  )
+  Flux<StudentBatchItemResponse> importStudents(@RequestBody Flux<String> lines);
+
+  @GetMapping("/export")
+  ResponseEntity<Flux<DataBuffer>> exportStudents(
+      @RequestParam(value = "format", defaultValue = "NDJSON") StudentExportFormat format);
+
+  @GetMapping("/get")
+  Mono<ResponseEntity<StudentResponse>> getStudent(@RequestParam("id") @NotNull Long id);
+
+  @GetMapping("/get-many")
+  Mono<List<StudentLookupResponse>> getStudents(
+      @RequestParam("ids")
+      @NotEmpty(message = "Список идентификаторов не должен быть пустым")
+      @Size(max = 10000, message = "Количество идентификаторов не должно превышать 10000")
+      List<@NotNull(message = "Идентификатор не должен быть null") Long> ids);
+
+  @PostMapping("/get-many")
+  Mono<List<StudentLookupResponse>> getStudentsByBody(
+      @RequestBody
+      @NotEmpty(message = "Список идентификаторов не должен быть пустым")
+      @Size(max = 10000, message = "Количество идентификаторов не должно превышать 10000")
+      List<@NotNull(message = "Идентификатор не должен быть null") Long> ids);
+
+  @GetMapping("/list")
+  Mono<StudentPageResponse> listStudents(
+      @RequestParam(value = "afterId", defaultValue = "0")
+      @Min(value = 0, message = "Идентификатор не должен быть отрицательным")
+      Long afterId,
+      @RequestParam(value = "limit", defaultValue = "100")
+      @Min(value = 1, message = "Размер страницы должен быть не меньше 1")
+      @Max(value = 1000, message = "Размер страницы не должен превышать 1000")
+      int limit,
+      @RequestParam(value = "groupName", required = false) String groupName,
+      @RequestParam(value = "fullNamePrefix", required = false) String fullNamePrefix);
+
+  @PutMapping("/update")
+  Mono<StudentResponse> updateStudent(
+      @RequestBody @Valid StudentUpdateRequest request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+  @PatchMapping("/update")
+  Mono<Void> patchStudent(@RequestBody @Valid StudentPatchRequest request);
+
+  @PutMapping("/move-group")
+  Mono<StudentGroupMoveResponse> moveGroup(@RequestBody @Valid StudentGroupMoveRequest request);
+
+  @DeleteMapping("/delete")
+  Mono<StudentResponse> deleteStudent(
+      @RequestParam("id") @NotNull Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+}
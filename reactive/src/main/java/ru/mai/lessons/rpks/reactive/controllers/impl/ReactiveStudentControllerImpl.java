@@ -0,0 +1,199 @@
+package ru.mai.lessons.rpks.reactive.controllers.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.controllers.ETags;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentIdempotencyKeyException;
+import ru.mai.lessons.rpks.reactive.controllers.ReactiveStudentController;
+import ru.mai.lessons.rpks.reactive.services.ReactiveStudentService;
+import ru.mai.lessons.rpks.services.Csv;
+
+@Slf4j
+@RestController
+@RequestMapping("/student")
+public class ReactiveStudentControllerImpl implements ReactiveStudentController {
+
+  private static final String CSV_HEADER = "id,fullName,groupName\n";
+  private static final byte[] LINE_SEPARATOR = {'\n'};
+
+  private final ReactiveStudentService service;
+  private final ObjectWriter jsonWriter;
+  private final ObjectWriter cborWriter;
+
+  public ReactiveStudentControllerImpl(ReactiveStudentService service, ObjectMapper objectMapper) {
+    this.service = service;
+    this.jsonWriter = objectMapper.writerFor(StudentResponse.class);
+    this.cborWriter = objectMapper.copyWith(new CBORFactory()).writerFor(StudentResponse.class);
+  }
+
+  @Override
+  @PostMapping("/save")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<StudentResponse> saveStudent(StudentCreateRequest request, String idempotencyKey) {
+    log.debug("Запрос на создание информации о студенте: request={}, idempotencyKey={}", request, idempotencyKey);
+    // Повтор с ключом идемпотентности без хранилища ключей создал бы дубликат, поэтому явно отказываем.
+    if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+      return Mono.error(new StudentIdempotencyKeyException(
+          "Ключ идемпотентности поддерживается только сервлетной версией сервиса"));
+    }
+    return service.saveStudent(request);
+  }
+
+  @Override
+  @PostMapping("/save-batch")
+  @ResponseStatus(HttpStatus.OK)
+  public Flux<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests) {
+    log.debug("Запрос на пакетное создание информации о студентах: size={}", requests.size());
+    return service.saveStudents(requests);
+  }
+
+  @Override
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE
+  )
+  @ResponseStatus(HttpStatus.OK)
+  public Flux<StudentBatchItemResponse> importStudents(Flux<String> lines) {
+    log.debug("Запрос на потоковый импорт информации о студентах");
+    return service.importStudents(lines);
+  }
+
+  @Override
+  @GetMapping("/export")
+  public ResponseEntity<Flux<DataBuffer>> exportStudents(StudentExportFormat format) {
+    log.debug("Запрос на выгрузку информации о студентах: format={}", format);
+    Flux<byte[]> body = switch (format) {
+      case CSV -> Flux.concat(
+          Mono.just(CSV_HEADER.getBytes(StandardCharsets.UTF_8)),
+          service.exportStudents().map(this::toCsv));
+      case CBOR -> service.exportStudents().map(student -> write(cborWriter, student));
+      case NDJSON -> service.exportStudents().map(student -> write(jsonWriter, student)).concatMap(json ->
+          Flux.just(json, LINE_SEPARATOR));
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("students." + format.getFileExtension())
+                .build()
+                .toString()
+        )
+        .body(body.map(DefaultDataBufferFactory.sharedInstance::wrap));
+  }
+
+  @Override
+  @GetMapping("/get")
+  public Mono<ResponseEntity<StudentResponse>> getStudent(Long id) {
+    log.debug("Запрос на получение информации о студенте: id={}", id);
+    return service.getStudent(id)
+        .map(response -> ResponseEntity.ok()
+            .eTag(String.valueOf(response.getVersion()))
+            .body(response));
+  }
+
+  @Override
+  @GetMapping("/get-many")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<List<StudentLookupResponse>> getStudents(List<Long> ids) {
+    log.debug("Запрос на получение информации о нескольких студентах: size={}", ids.size());
+    return service.getStudents(ids);
+  }
+
+  @Override
+  @PostMapping("/get-many")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<List<StudentLookupResponse>> getStudentsByBody(List<Long> ids) {
+    return getStudents(ids);
+  }
+
+  @Override
+  @GetMapping("/list")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<StudentPageResponse> listStudents(Long afterId, int limit, String groupName, String fullNamePrefix) {
+    log.debug(
+        "Запрос на получение списка студентов: afterId={}, limit={}, groupName={}, fullNamePrefix={}",
+        afterId, limit, groupName, fullNamePrefix
+    );
+    return service.listStudents(afterId, limit, groupName, fullNamePrefix);
+  }
+
+  @Override
+  @PutMapping("/update")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<StudentResponse> updateStudent(StudentUpdateRequest request, String ifMatch) {
+    log.debug("Запрос на обновление информации о студенте: request={}, ifMatch={}", request, ifMatch);
+    return Mono.defer(() -> service.updateStudent(request, ETags.parseIfMatch(ifMatch)));
+  }
+
+  @Override
+  @PatchMapping("/update")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public Mono<Void> patchStudent(StudentPatchRequest request) {
+    log.debug("Запрос на частичное обновление информации о студенте: request={}", request);
+    return service.patchStudent(request);
+  }
+
+  @Override
+  @PutMapping("/move-group")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<StudentGroupMoveResponse> moveGroup(StudentGroupMoveRequest request) {
+    log.debug("Запрос на перевод студентов группы: request={}", request);
+    return service.moveGroup(request);
+  }
+
+  @Override
+  @DeleteMapping("/delete")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<StudentResponse> deleteStudent(Long id, String ifMatch) {
+    log.debug("Запрос на удаление информации о студенте: id={}, ifMatch={}", id, ifMatch);
+    return Mono.defer(() -> service.deleteStudent(id, ETags.parseIfMatch(ifMatch)));
+  }
+
+  private byte[] toCsv(StudentResponse student) {
+    return (student.getId() + "," + Csv.escape(student.getFullName()) + "," + Csv.escape(student.getGroupName())
+        + "\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] write(ObjectWriter writer, StudentResponse student) {
+    try {
+      return writer.writeValueAsBytes(student);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package ru.mai.lessons.rpks.reactive.exception;
+
+import io.r2dbc.spi.R2dbcException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import ru.mai.lessons.rpks.exception.DataIntegrityViolations;
+import ru.mai.lessons.rpks.exception.ExceptionErrorMessage;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentException;
+
+/**
+ * Реактивный аналог {@code ControllerExceptionHandler}: те же коды ответов и тело {@link ExceptionErrorMessage}.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+  private static final String ERROR_DELIMITER = "; ";
+
+  private static final String INTERNAL_ERROR = "Ошибка на стороне сервиса";
+
+  @ExceptionHandler(StudentException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(StudentException ex) {
+    return error(ex.getStatus(), ex.getMessage());
+  }
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(WebExchangeBindException ex) {
+    return error(HttpStatus.BAD_REQUEST, ex.getAllErrors().stream()
+        .map(MessageSourceResolvable::getDefaultMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(HandlerMethodValidationException ex) {
+    return error(HttpStatus.BAD_REQUEST, ex.getAllErrors().stream()
+        .map(MessageSourceResolvable::getDefaultMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(ConstraintViolationException ex) {
+    return error(HttpStatus.BAD_REQUEST, ex.getConstraintViolations().stream()
+        .map(ConstraintViolation::getMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler(ServerWebInputException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(ServerWebInputException ex) {
+    return error(HttpStatus.BAD_REQUEST, ex.getReason());
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(DataIntegrityViolationException ex) {
+    return handle(DataIntegrityViolations.translate(ex, sqlState(ex)));
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(OptimisticLockingFailureException ex) {
+    return handle(StudentConflictException.INSTANCE);
+  }
+
+  @ExceptionHandler(Exception.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(Exception ex) {
+    if (ex instanceof ErrorResponse errorResponse) {
+      HttpStatus status = HttpStatus.valueOf(errorResponse.getStatusCode().value());
+      ResponseEntity.BodyBuilder response = ResponseEntity.status(status).headers(errorResponse.getHeaders());
+      if (ex instanceof NotAcceptableStatusException) {
+        return response.build();
+      }
+      return response.body(
+          ExceptionErrorMessage
+              .builder()
+              .status(status)
+              .error(errorResponse.getBody().getDetail())
+              .build()
+      );
+    }
+
+    log.error("Необработанная ошибка при выполнении запроса", ex);
+    return error(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR);
+  }
+
+  private static String sqlState(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof R2dbcException r2dbcException && r2dbcException.getSqlState() != null) {
+        return r2dbcException.getSqlState();
+      }
+    }
+    return DataIntegrityViolations.sqlState(ex);
+  }
+
+  private ResponseEntity<ExceptionErrorMessage> error(HttpStatus status, String message) {
+    return ResponseEntity
+        .status(status)
+        .body(
+            ExceptionErrorMessage
+                .builder()
+                .status(status)
+                .error(message)
+                .build()
+        );
+  }
+}
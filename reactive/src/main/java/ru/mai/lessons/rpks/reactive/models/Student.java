@@ -0,0 +1,38 @@
+package ru.mai.lessons.rpks.reactive.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("student")
+public class Student {
+
+  @Id
+  @Column("id")
+  private Long id;
+
+  @Column("full_name")
+  private String fullName;
+
+  @Column("group_name")
+  private String groupName;
+
+  @Version
+  @Column("version")
+  private Long version;
+}
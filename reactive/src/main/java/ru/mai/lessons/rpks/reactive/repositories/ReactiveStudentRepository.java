@@ -0,0 +1,64 @@
+package ru.mai.lessons.rpks.reactive.repositories;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.reactive.models.Student;
+
+@Repository
+public interface ReactiveStudentRepository
+    extends R2dbcRepository<Student, Long>, ReactiveStudentRepositoryCustom {
+
+  /**
+   * Пустые {@code groupName} и {@code fullNamePrefix} отключают соответствующий фильтр;
+   * префикс должен быть экранирован для LIKE.
+   */
+  @Query("SELECT id, full_name, group_name, version FROM student "
+      + "WHERE id > :afterId "
+      + "AND (:groupName = '' OR group_name = :groupName) "
+      + "AND (:fullNamePrefix = '' OR full_name LIKE :fullNamePrefix || '%') "
+      + "ORDER BY id LIMIT :limit")
+  Flux<Student> findPage(
+      @Param("afterId") Long afterId,
+      @Param("groupName") String groupName,
+      @Param("fullNamePrefix") String fullNamePrefix,
+      @Param("limit") int limit);
+
+  @Modifying
+  @Query("UPDATE student SET full_name = :fullName, version = version + 1 WHERE id = :id")
+  Mono<Integer> updateFullName(@Param("id") Long id, @Param("fullName") String fullName);
+
+  @Modifying
+  @Query("UPDATE student SET group_name = :groupName, version = version + 1 WHERE id = :id")
+  Mono<Integer> updateGroupName(@Param("id") Long id, @Param("groupName") String groupName);
+
+  @Modifying
+  @Query("UPDATE student SET full_name = :fullName, group_name = :groupName, version = version + 1 "
+      + "WHERE id = :id")
+  Mono<Integer> updateFullNameAndGroupName(
+      @Param("id") Long id, @Param("fullName") String fullName, @Param("groupName") String groupName);
+
+  @Modifying
+  @Query("UPDATE student SET full_name = :fullName, group_name = :groupName, version = version + 1 "
+      + "WHERE id = :id AND version = :version")
+  Mono<Integer> updateFullNameAndGroupNameIfVersion(
+      @Param("id") Long id,
+      @Param("fullName") String fullName,
+      @Param("groupName") String groupName,
+      @Param("version") Long version);
+
+  @Query("UPDATE student SET group_name = :toGroupName, version = version + 1 "
+      + "WHERE group_name = :fromGroupName RETURNING id")
+  Flux<Long> moveGroup(@Param("fromGroupName") String fromGroupName, @Param("toGroupName") String toGroupName);
+
+  @Query("DELETE FROM student WHERE id = :id RETURNING id, full_name, group_name, version")
+  Mono<Student> deleteReturning(@Param("id") Long id);
+
+  @Query("DELETE FROM student WHERE id = :id AND version = :version "
+      + "RETURNING id, full_name, group_name, version")
+  Mono<Student> deleteReturningIfVersion(@Param("id") Long id, @Param("version") Long version);
+}
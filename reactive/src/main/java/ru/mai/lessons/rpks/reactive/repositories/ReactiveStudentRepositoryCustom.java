@@ -0,0 +1,20 @@
+package ru.mai.lessons.rpks.reactive.repositories;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+import ru.mai.lessons.rpks.reactive.models.Student;
+
+public interface ReactiveStudentRepositoryCustom {
+
+  /**
+   * Вставляет студентов одним пакетом R2DBC. Идентификаторы берутся из {@code student_seq}
+   * блоками, совместимыми с генератором Hibernate сервлетного приложения.
+   */
+  Flux<Student> insertAll(List<Student> students);
+
+  /**
+   * Потоковое чтение всех студентов по идентификатору с ограниченным размером выборки,
+   * чтобы строки запрашивались у базы по мере спроса подписчика.
+   */
+  Flux<Student> streamAll(int fetchSize);
+}
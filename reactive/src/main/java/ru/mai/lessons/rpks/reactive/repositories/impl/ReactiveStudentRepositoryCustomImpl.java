@@ -0,0 +1,63 @@
+package ru.mai.lessons.rpks.reactive.repositories.impl;
+
+import io.r2dbc.spi.Statement;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import ru.mai.lessons.rpks.reactive.models.Student;
+import ru.mai.lessons.rpks.reactive.repositories.ReactiveStudentRepositoryCustom;
+
+@RequiredArgsConstructor
+public class ReactiveStudentRepositoryCustomImpl implements ReactiveStudentRepositoryCustom {
+
+  private static final long INITIAL_VERSION = 0L;
+
+  private static final String INSERT_SQL =
+      "INSERT INTO student (id, full_name, group_name, version) VALUES ($1, $2, $3, $4)";
+
+  private static final String SELECT_ALL_SQL =
+      "SELECT id, full_name, group_name, version FROM student ORDER BY id";
+
+  private final R2dbcEntityTemplate template;
+  private final StudentIdAllocator idAllocator;
+
+  @Override
+  public Flux<Student> insertAll(List<Student> students) {
+    if (students.isEmpty()) {
+      return Flux.empty();
+    }
+
+    return Flux.fromIterable(students)
+        .concatMap(student -> idAllocator.nextId().map(id -> {
+          student.setId(id);
+          student.setVersion(INITIAL_VERSION);
+          return student;
+        }))
+        .collectList()
+        .flatMapMany(allocated -> template.getDatabaseClient().inConnectionMany(connection -> {
+          Statement statement = connection.createStatement(INSERT_SQL);
+          for (int i = 0; i < allocated.size(); i++) {
+            Student student = allocated.get(i);
+            statement.bind(0, student.getId())
+                .bind(1, student.getFullName())
+                .bind(2, student.getGroupName())
+                .bind(3, student.getVersion());
+            if (i < allocated.size() - 1) {
+              statement.add();
+            }
+          }
+          return Flux.from(statement.execute())
+              .concatMap(result -> result.getRowsUpdated())
+              .thenMany(Flux.fromIterable(allocated));
+        }));
+  }
+
+  @Override
+  public Flux<Student> streamAll(int fetchSize) {
+    return template.getDatabaseClient().sql(SELECT_ALL_SQL)
+        .filter(statement -> statement.fetchSize(fetchSize))
+        .map((row, metadata) -> template.getConverter().read(Student.class, row, metadata))
+        .all();
+  }
+}
@@ -0,0 +1,48 @@
+package ru.mai.lessons.rpks.reactive.repositories.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Выдача идентификаторов из {@code student_seq} по схеме pooled-оптимизатора Hibernate:
+ * значение последовательности {@code v} резервирует диапазон {@code (v - 50, v]}. Поэтому
+ * реактивное и сервлетное приложения могут писать в одну таблицу без пересечения идентификаторов.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentIdAllocator {
+
+  /** Совпадает с allocationSize генератора {@code student_seq} в JPA-модели. */
+  static final int ALLOCATION_SIZE = 50;
+
+  private static final String NEXT_VALUE_SQL = "SELECT nextval('student_seq')";
+
+  private final DatabaseClient databaseClient;
+
+  private long next;
+  private long high;
+
+  public Mono<Long> nextId() {
+    Long id = tryNext();
+    if (id != null) {
+      return Mono.just(id);
+    }
+
+    return databaseClient.sql(NEXT_VALUE_SQL)
+        .map(row -> row.get(0, Long.class))
+        .one()
+        .map(this::allocate);
+  }
+
+  private synchronized Long tryNext() {
+    return next != 0 && next <= high ? next++ : null;
+  }
+
+  private synchronized long allocate(long value) {
+    high = value;
+    next = Math.max(value - ALLOCATION_SIZE + 1, 1);
+    return next++;
+  }
+}
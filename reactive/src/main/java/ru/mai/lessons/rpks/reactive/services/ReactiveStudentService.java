@@ -0,0 +1,39 @@
+package ru.mai.lessons.rpks.reactive.services;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+public interface ReactiveStudentService {
+
+  Mono<StudentResponse> saveStudent(StudentCreateRequest request);
+
+  Flux<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests);
+
+  Flux<StudentBatchItemResponse> importStudents(Flux<String> lines);
+
+  Flux<StudentResponse> exportStudents();
+
+  Mono<StudentResponse> getStudent(Long id);
+
+  Mono<List<StudentLookupResponse>> getStudents(List<Long> ids);
+
+  Mono<StudentPageResponse> listStudents(Long afterId, int limit, String groupName, String fullNamePrefix);
+
+  Mono<StudentResponse> updateStudent(StudentUpdateRequest request, Long expectedVersion);
+
+  Mono<Void> patchStudent(StudentPatchRequest request);
+
+  Mono<StudentGroupMoveResponse> moveGroup(StudentGroupMoveRequest request);
+
+  Mono<StudentResponse> deleteStudent(Long id, Long expectedVersion);
+}
@@ -0,0 +1,277 @@
+package ru.mai.lessons.rpks.reactive.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+import ru.mai.lessons.rpks.reactive.config.ReactiveStudentProperties;
+import ru.mai.lessons.rpks.reactive.models.Student;
+import ru.mai.lessons.rpks.reactive.repositories.ReactiveStudentRepository;
+import ru.mai.lessons.rpks.reactive.services.ReactiveStudentService;
+
+@Service
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+
+  private static final String NO_FILTER = "";
+
+  private final ReactiveStudentRepository repository;
+  private final Validator validator;
+  private final ReactiveStudentProperties properties;
+  private final ObjectReader requestReader;
+  private final TransactionalOperator transactionalOperator;
+
+  public ReactiveStudentServiceImpl(
+      ReactiveStudentRepository repository,
+      Validator validator,
+      ReactiveStudentProperties properties,
+      ObjectMapper objectMapper,
+      ReactiveTransactionManager transactionManager
+  ) {
+    this.repository = repository;
+    this.validator = validator;
+    this.properties = properties;
+    this.requestReader = objectMapper.readerFor(StudentCreateRequest.class);
+    this.transactionalOperator = TransactionalOperator.create(transactionManager);
+  }
+
+  @Override
+  @Transactional
+  public Mono<StudentResponse> saveStudent(StudentCreateRequest request) {
+    return repository.insertAll(List.of(toModel(request)))
+        .single()
+        .map(ReactiveStudentServiceImpl::toResponse);
+  }
+
+  @Override
+  @Transactional
+  public Flux<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests) {
+    List<StudentBatchItemResponse> items = new ArrayList<>(requests.size());
+    for (int index = 0; index < requests.size(); index++) {
+      items.add(StudentBatchItemResponse.builder().index(index).build());
+    }
+    return saveItems(items, requests).thenMany(Flux.fromIterable(items));
+  }
+
+  /**
+   * Строки NDJSON читаются по мере поступления и сохраняются блоками, каждый блок — в своей
+   * транзакции, как в сервлетном импорте. Ответ по блоку отдаётся до чтения следующего.
+   */
+  @Override
+  public Flux<StudentBatchItemResponse> importStudents(Flux<String> lines) {
+    return lines.index()
+        .filter(line -> !line.getT2().isBlank())
+        .map(line -> parse(line.getT1().intValue(), line.getT2()))
+        .buffer(properties.getBatch().getChunkSize())
+        .concatMap(chunk -> {
+          List<StudentBatchItemResponse> items = new ArrayList<>(chunk.size());
+          List<StudentCreateRequest> requests = new ArrayList<>(chunk.size());
+          for (ImportLine line : chunk) {
+            if (line.request() != null) {
+              items.add(line.item());
+              requests.add(line.request());
+            }
+          }
+          return transactionalOperator.transactional(saveItems(items, requests))
+              .thenMany(Flux.fromIterable(chunk).map(ImportLine::item));
+        });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Flux<StudentResponse> exportStudents() {
+    return repository.streamAll(properties.getExport().getFetchSize())
+        .map(ReactiveStudentServiceImpl::toResponse);
+  }
+
+  @Override
+  public Mono<StudentResponse> getStudent(Long id) {
+    return repository.findById(id)
+        .map(ReactiveStudentServiceImpl::toResponse)
+        .switchIfEmpty(Mono.error(StudentNotFoundException.INSTANCE));
+  }
+
+  @Override
+  public Mono<List<StudentLookupResponse>> getStudents(List<Long> ids) {
+    return Flux.fromIterable(new LinkedHashSet<>(ids))
+        .buffer(properties.getLookup().getChunkSize())
+        .concatMap(repository::findAllById)
+        .collectMap(Student::getId, ReactiveStudentServiceImpl::toResponse)
+        .map(found -> ids.stream()
+            .map(id -> found.containsKey(id)
+                ? StudentLookupResponse.found(found.get(id))
+                : StudentLookupResponse.missing(id))
+            .toList());
+  }
+
+  @Override
+  public Mono<StudentPageResponse> listStudents(Long afterId, int limit, String groupName, String fullNamePrefix) {
+    return repository.findPage(afterId, filter(groupName), escapeLike(filter(fullNamePrefix)), limit + 1)
+        .map(ReactiveStudentServiceImpl::toResponse)
+        .collectList()
+        .map(students -> {
+          boolean hasNext = students.size() > limit;
+          List<StudentResponse> page = hasNext ? students.subList(0, limit) : students;
+          return StudentPageResponse.builder()
+              .students(page)
+              .nextAfterId(hasNext ? page.get(page.size() - 1).getId() : null)
+              .build();
+        });
+  }
+
+  @Override
+  @Transactional
+  public Mono<StudentResponse> updateStudent(StudentUpdateRequest request, Long expectedVersion) {
+    Long id = request.getId();
+    Mono<Integer> updated = expectedVersion == null
+        ? repository.updateFullNameAndGroupName(id, request.getFullName(), request.getGroupName())
+        : repository.updateFullNameAndGroupNameIfVersion(
+            id, request.getFullName(), request.getGroupName(), expectedVersion);
+
+    return updated.flatMap(count -> count == 0
+        ? this.<StudentResponse>notChanged(id, expectedVersion)
+        : getStudent(id));
+  }
+
+  @Override
+  @Transactional
+  public Mono<Void> patchStudent(StudentPatchRequest request) {
+    Long id = request.getId();
+    String fullName = request.getFullName();
+    String groupName = request.getGroupName();
+    Mono<Boolean> updated;
+
+    if (fullName != null && groupName != null) {
+      updated = repository.updateFullNameAndGroupName(id, fullName, groupName).map(count -> count > 0);
+    } else if (fullName != null) {
+      updated = repository.updateFullName(id, fullName).map(count -> count > 0);
+    } else if (groupName != null) {
+      updated = repository.updateGroupName(id, groupName).map(count -> count > 0);
+    } else {
+      updated = repository.existsById(id);
+    }
+
+    return updated.flatMap(found -> found
+        ? Mono.<Void>empty()
+        : Mono.error(StudentNotFoundException.INSTANCE));
+  }
+
+  @Override
+  @Transactional
+  public Mono<StudentGroupMoveResponse> moveGroup(StudentGroupMoveRequest request) {
+    if (request.getFromGroupName().equals(request.getToGroupName())) {
+      return Mono.error(new StudentValidationException("Исходная и новая группы совпадают"));
+    }
+
+    return repository.moveGroup(request.getFromGroupName(), request.getToGroupName())
+        .count()
+        .map(count -> new StudentGroupMoveResponse(count.intValue()));
+  }
+
+  @Override
+  @Transactional
+  public Mono<StudentResponse> deleteStudent(Long id, Long expectedVersion) {
+    Mono<Student> deleted = expectedVersion == null
+        ? repository.deleteReturning(id)
+        : repository.deleteReturningIfVersion(id, expectedVersion);
+
+    return deleted.map(ReactiveStudentServiceImpl::toResponse)
+        .switchIfEmpty(Mono.defer(() -> this.<StudentResponse>notChanged(id, expectedVersion)));
+  }
+
+  private Mono<Void> saveItems(List<StudentBatchItemResponse> items, List<StudentCreateRequest> requests) {
+    List<StudentBatchItemResponse> validItems = new ArrayList<>(items.size());
+    List<Student> students = new ArrayList<>(items.size());
+
+    for (int i = 0; i < requests.size(); i++) {
+      List<String> errors = validate(requests.get(i));
+      if (errors.isEmpty()) {
+        validItems.add(items.get(i));
+        students.add(toModel(requests.get(i)));
+      } else {
+        items.get(i).setErrors(errors);
+      }
+    }
+
+    return repository.insertAll(students)
+        .index()
+        .doOnNext(saved -> validItems.get(saved.getT1().intValue()).setStudent(toResponse(saved.getT2())))
+        .then();
+  }
+
+  private ImportLine parse(int index, String line) {
+    StudentBatchItemResponse item = StudentBatchItemResponse.builder().index(index).build();
+    try {
+      return new ImportLine(item, requestReader.readValue(line));
+    } catch (JsonProcessingException ex) {
+      item.setErrors(List.of("Некорректный формат записи о студенте"));
+      return new ImportLine(item, null);
+    }
+  }
+
+  private <T> Mono<T> notChanged(Long id, Long expectedVersion) {
+    if (expectedVersion == null) {
+      return Mono.error(StudentNotFoundException.INSTANCE);
+    }
+
+    return repository.existsById(id)
+        .flatMap(exists -> Mono.<T>error(exists
+            ? StudentConflictException.INSTANCE
+            : StudentNotFoundException.INSTANCE));
+  }
+
+  private List<String> validate(StudentCreateRequest request) {
+    if (request == null) {
+      return List.of("Запрос на создание информации о студенте не должен быть null");
+    }
+
+    return validator.validate(request)
+        .stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .toList();
+  }
+
+  private static String filter(String value) {
+    return value == null || value.isBlank() ? NO_FILTER : value;
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  private static Student toModel(StudentCreateRequest request) {
+    return Student.builder()
+        .fullName(request.getFullName())
+        .groupName(request.getGroupName())
+        .build();
+  }
+
+  private static StudentResponse toResponse(Student student) {
+    return new StudentResponse(student.getId(), student.getFullName(), student.getGroupName(), student.getVersion());
+  }
+
+  private record ImportLine(StudentBatchItemResponse item, StudentCreateRequest request) {
+  }
+}
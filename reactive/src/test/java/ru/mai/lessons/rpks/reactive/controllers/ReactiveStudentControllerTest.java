@@ -0,0 +1,155 @@
+package ru.mai.lessons.rpks.reactive.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.reactive.controllers.impl.ReactiveStudentControllerImpl;
+import ru.mai.lessons.rpks.reactive.services.ReactiveStudentService;
+
+@WebFluxTest(ReactiveStudentControllerImpl.class)
+@TestPropertySource(properties = "server.port=8080")
+class ReactiveStudentControllerTest {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @MockitoBean
+  private ReactiveStudentService service;
+
+  @Test
+  @DisplayName("Тест на поиск студента по его идентификатору")
+  void givenStudentId_whenGetStudent_thenReturnStudentResponseWithETag() {
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 3L);
+    when(service.getStudent(1L)).thenReturn(Mono.just(expectedResponse));
+
+    webTestClient.get()
+        .uri("/student/get?id=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+        .expectBody(StudentResponse.class).isEqualTo(expectedResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на поиск несуществующего студента")
+  void givenUnknownStudentId_whenGetStudent_thenReturnNotFound() {
+    when(service.getStudent(1L)).thenReturn(Mono.error(StudentNotFoundException.INSTANCE));
+
+    webTestClient.get()
+        .uri("/student/get?id=1")
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody()
+        .jsonPath("$.error").isEqualTo(StudentNotFoundException.INSTANCE.getMessage());
+  }
+
+  @Test
+  @DisplayName("Тест на обновление студента с устаревшей версией")
+  void givenStaleIfMatch_whenUpdateStudent_thenReturnConflict() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-411Б");
+    when(service.updateStudent(any(StudentUpdateRequest.class), eq(2L)))
+        .thenReturn(Mono.error(StudentConflictException.INSTANCE));
+
+    webTestClient.put()
+        .uri("/student/update")
+        .header(HttpHeaders.IF_MATCH, "\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus().isEqualTo(409);
+  }
+
+  @Test
+  @DisplayName("Тест на обновление студента со слабым ETag")
+  void givenWeakIfMatch_whenUpdateStudent_thenReturnConflictWithoutUpdating() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-411Б");
+
+    webTestClient.put()
+        .uri("/student/update")
+        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus().isEqualTo(409);
+
+    verify(service, never()).updateStudent(any(), any());
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента со списком ETag")
+  void givenIfMatchList_whenDeleteStudent_thenReturnBadRequest() {
+    webTestClient.delete()
+        .uri("/student/delete?id=1")
+        .header(HttpHeaders.IF_MATCH, "\"1\", \"2\"")
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    verify(service, never()).deleteStudent(any(), any());
+  }
+
+  @Test
+  @DisplayName("Тест на отказ в создании студента с ключом идемпотентности")
+  void givenIdempotencyKey_whenSaveStudent_thenReturnUnprocessableEntity() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+
+    webTestClient.post()
+        .uri("/student/save")
+        .header("Idempotency-Key", "key")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus().isEqualTo(422);
+
+    verify(service, never()).saveStudent(any());
+  }
+
+  @Test
+  @DisplayName("Тест на ответ о слишком длинном значении поля, отвергнутом базой данных")
+  void givenValueTooLong_whenSaveStudent_thenReturnBadRequest() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    when(service.saveStudent(any())).thenReturn(Mono.error(new DataIntegrityViolationException(
+        "could not execute statement", new SQLException("Value too long for column", "22001"))));
+
+    webTestClient.post()
+        .uri("/student/save")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.error").isEqualTo("Значение поля превышает допустимую длину");
+  }
+
+  @Test
+  @DisplayName("Тест на ответ о непредвиденной ошибке без внутренних подробностей")
+  void givenUnexpectedError_whenGetStudent_thenReturnInternalServerError() {
+    when(service.getStudent(1L)).thenReturn(Mono.error(new IllegalStateException("Connection pool is closed")));
+
+    webTestClient.get()
+        .uri("/student/get?id=1")
+        .exchange()
+        .expectStatus().is5xxServerError()
+        .expectBody()
+        .jsonPath("$.error").isEqualTo("Ошибка на стороне сервиса");
+  }
+}
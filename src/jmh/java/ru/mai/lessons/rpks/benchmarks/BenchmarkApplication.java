@@ -0,0 +1,55 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.mai.lessons.rpks.JavaUnitTestsApplication;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Запуск приложения внутри процесса бенчмарка на профиле test (H2 в памяти).
+ */
+final class BenchmarkApplication {
+
+  private static final String[] DEFAULT_ARGS = {
+      "--spring.jpa.show-sql=false",
+      "--spring.jpa.properties.hibernate.format_sql=false",
+      "--logging.level.root=WARN",
+      "--server.port=0"
+  };
+
+  private static final int SEED_CHUNK_SIZE = 1_000;
+
+  private BenchmarkApplication() {
+  }
+
+  static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+    return new SpringApplicationBuilder(JavaUnitTestsApplication.class)
+        .profiles("test")
+        .web(webApplicationType)
+        .bannerMode(Banner.Mode.OFF)
+        .logStartupInfo(false)
+        .run(Stream.concat(Stream.of(DEFAULT_ARGS), Stream.of(args)).toArray(String[]::new));
+  }
+
+  static List<Long> seed(StudentService service, int count) {
+    List<Long> ids = new ArrayList<>(count);
+    for (int from = 0; from < count; from += SEED_CHUNK_SIZE) {
+      List<StudentCreateRequest> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+      for (int i = from; i < Math.min(from + SEED_CHUNK_SIZE, count); i++) {
+        chunk.add(request(i));
+      }
+      service.saveStudents(chunk).forEach(item -> ids.add(item.getStudent().getId()));
+    }
+    return ids;
+  }
+
+  static StudentCreateRequest request(long number) {
+    return new StudentCreateRequest("Student " + number, "М8О-" + (100 + number % 400) + "Б");
+  }
+}
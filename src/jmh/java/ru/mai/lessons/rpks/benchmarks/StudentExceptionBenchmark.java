@@ -0,0 +1,68 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+
+/**
+ * Стоимость ошибки «студент не найден»: предсозданное исключение без стека против исключения,
+ * которое собирает стек на глубине, сравнимой с вызовом из контроллера. Распределение памяти
+ * смотреть в метрике {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudentExceptionBenchmark {
+
+  private static final int STACK_DEPTH = 100;
+
+  @Benchmark
+  public Object preallocatedNotFound() {
+    try {
+      return throwAt(STACK_DEPTH, true);
+    } catch (StudentNotFoundException ex) {
+      return ex;
+    }
+  }
+
+  @Benchmark
+  public Object stacklessValidation() {
+    try {
+      return throwAt(STACK_DEPTH, false);
+    } catch (StudentValidationException ex) {
+      return ex;
+    }
+  }
+
+  @Benchmark
+  public Object stackTraceNotFound() {
+    try {
+      return throwStackTraceAt(STACK_DEPTH);
+    } catch (IllegalStateException ex) {
+      return ex;
+    }
+  }
+
+  @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+  private static Object throwAt(int depth, boolean preallocated) {
+    if (depth > 0) {
+      return throwAt(depth - 1, preallocated);
+    }
+    throw preallocated ? StudentNotFoundException.INSTANCE : new StudentValidationException("Студент не найден");
+  }
+
+  @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+  private static Object throwStackTraceAt(int depth) {
+    if (depth > 0) {
+      return throwStackTraceAt(depth - 1);
+    }
+    throw new IllegalStateException("Студент не найден");
+  }
+}
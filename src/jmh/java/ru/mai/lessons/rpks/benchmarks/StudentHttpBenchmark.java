@@ -0,0 +1,92 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Сквозная пропускная способность и перцентили задержки HTTP API: приложение поднимается
+ * внутри процесса на случайном порту, конкурентные клиенты — потоки JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class StudentHttpBenchmark {
+
+  private static final int STUDENTS = 10_000;
+
+  @Param({"true", "false"})
+  public boolean cacheEnabled;
+
+  @Param({"true", "false"})
+  public boolean accessLogEnabled;
+
+  private final AtomicLong sequence = new AtomicLong(STUDENTS);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private String baseUrl;
+  private List<Long> ids;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkApplication.start(
+        WebApplicationType.SERVLET,
+        "--student.cache.enabled=" + cacheEnabled,
+        "--student.access-log.enabled=" + accessLogEnabled
+    );
+    baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/student";
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    ids = BenchmarkApplication.seed(context.getBean(StudentService.class), STUDENTS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String getStudent() throws IOException, InterruptedException {
+    Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + "/get?id=" + id)).GET().build());
+  }
+
+  @Benchmark
+  public String saveStudent() throws IOException, InterruptedException {
+    byte[] body = objectMapper.writeValueAsBytes(BenchmarkApplication.request(sequence.incrementAndGet()));
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + "/save"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+        .build());
+  }
+
+  private String send(HttpRequest request) throws IOException, InterruptedException {
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Неожиданный статус ответа: " + response.statusCode());
+    }
+    return response.body();
+  }
+}
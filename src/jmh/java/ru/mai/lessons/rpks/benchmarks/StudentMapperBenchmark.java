@@ -0,0 +1,36 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
+import ru.mai.lessons.rpks.dto.mappers.StudentMapperImpl;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.models.Student;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudentMapperBenchmark {
+
+  private final StudentMapper mapper = new StudentMapperImpl();
+
+  private final StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+
+  private final Student student = new Student(1L, "Domoroschenov", "М8О-411Б", 0L);
+
+  @Benchmark
+  public Student requestToModel() {
+    return mapper.requestToModel(request);
+  }
+
+  @Benchmark
+  public StudentResponse modelToResponse() {
+    return mapper.modelToResponse(student);
+  }
+}
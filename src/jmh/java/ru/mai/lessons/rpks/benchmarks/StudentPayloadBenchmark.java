@@ -0,0 +1,98 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+/**
+ * Размер ответа и стоимость сериализации 10 000 студентов в JSON, CBOR и Smile, без сжатия и с gzip.
+ * Размер полезной нагрузки публикуется вторичной метрикой {@code payloadBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentPayloadBenchmark {
+
+  private static final int STUDENTS = 10_000;
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  public String format;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private List<StudentResponse> students;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException {
+    JsonFactory factory = switch (format) {
+      case "CBOR" -> new CBORFactory();
+      case "SMILE" -> new SmileFactory();
+      default -> new JsonFactory();
+    };
+    ObjectMapper objectMapper = new ObjectMapper(factory);
+    TypeReference<List<StudentResponse>> type = new TypeReference<>() {
+    };
+    writer = objectMapper.writerFor(type);
+    reader = objectMapper.readerFor(type);
+
+    students = new ArrayList<>(STUDENTS);
+    for (long i = 0; i < STUDENTS; i++) {
+      students.add(new StudentResponse(i, "Student " + i, "М8О-" + (100 + i % 400) + "Б", 0L));
+    }
+    payload = writer.writeValueAsBytes(students);
+  }
+
+  @Benchmark
+  public byte[] serialize(PayloadSize size) throws IOException {
+    byte[] bytes = writer.writeValueAsBytes(students);
+    size.payloadBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public byte[] serializeGzip(PayloadSize size) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(payload.length);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      writer.writeValue(gzip, students);
+    }
+    byte[] bytes = output.toByteArray();
+    size.payloadBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public List<StudentResponse> deserialize() throws IOException {
+    return reader.readValue(payload);
+  }
+
+  /**
+   * Счётчик перезаписывается, а не накапливается: в результатах остаётся размер одного ответа.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSize {
+
+    public long payloadBytes;
+  }
+}
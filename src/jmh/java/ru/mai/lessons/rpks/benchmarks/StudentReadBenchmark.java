@@ -0,0 +1,89 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Задержка чтения студента (перцентили в режиме SampleTime): через кэш и без него, проекция
+ * против загрузки сущности с MapStruct, поток промахов по несуществующим идентификаторам.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentReadBenchmark {
+
+  private static final int STUDENTS = 10_000;
+
+  @Param({"true", "false"})
+  public boolean cacheEnabled;
+
+  private ConfigurableApplicationContext context;
+  private StudentService service;
+  private StudentRepository repository;
+  private StudentMapper mapper;
+  private TransactionTemplate readOnlyTransaction;
+  private List<Long> ids;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkApplication.start(
+        WebApplicationType.NONE,
+        "--student.cache.enabled=" + cacheEnabled,
+        "--student.id-filter.enabled=false"
+    );
+    service = context.getBean(StudentService.class);
+    repository = context.getBean(StudentRepository.class);
+    mapper = context.getBean(StudentMapper.class);
+    readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+    ids = BenchmarkApplication.seed(service, STUDENTS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public StudentResponse getStudent() {
+    return service.getStudent(randomId());
+  }
+
+  @Benchmark
+  public StudentResponse getStudentViaEntity() {
+    Long id = randomId();
+    return readOnlyTransaction.execute(status -> mapper.modelToResponse(repository.findById(id).orElseThrow()));
+  }
+
+  @Benchmark
+  public Object getMissingStudent() {
+    try {
+      return service.getStudent(-ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+    } catch (StudentNotFoundException ex) {
+      return ex;
+    }
+  }
+
+  private Long randomId() {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+}
@@ -0,0 +1,78 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.mai.lessons.rpks.search.TrigramIndex;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
+
+/**
+ * Поиск по индексу триграмм над синтетическими именами: фамилия из двух-трех слогов и частого
+ * окончания, имя из тридцати распространенных. Окончания «ов», «ев», «ин» и имена дают длинные
+ * списки, как в реальных данных.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentSearchBenchmark {
+
+  private static final String[] SYLLABLES = {
+      "ба", "ва", "га", "да", "же", "за", "ки", "ла", "ма", "на", "по", "ро", "са", "та", "фе", "ха", "це",
+      "ча", "ша", "бе", "ве", "ги", "ди", "ко", "лу", "му", "ни", "ол", "пе", "ре", "си", "ту", "ус", "фи",
+      "хо", "цы", "чи", "шу", "яр", "ем", "ор", "ак", "ин", "ул", "ер", "от", "ам", "ыш", "юр", "ёл"
+  };
+  private static final String[] SUFFIXES = {
+      "ов", "ов", "ов", "ов", "ев", "ев", "ин", "ин", "ский", "енко", "ович", "ых"
+  };
+  private static final String[] NAMES = {
+      "Иван", "Пётр", "Анна", "Мария", "Сергей", "Ольга", "Алексей", "Елена", "Дмитрий", "Наталья",
+      "Андрей", "Татьяна", "Михаил", "Ирина", "Николай", "Светлана", "Павел", "Юлия", "Артём", "Ксения",
+      "Егор", "Дарья", "Максим", "Полина", "Кирилл", "Вера", "Роман", "Алина", "Глеб", "Софья"
+  };
+
+  @Param({"1000000"})
+  public int students;
+
+  @Param({"0.4"})
+  public double minSimilarity;
+
+  private final TrigramIndex index = new TrigramIndex();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    for (int id = 1; id <= students; id++) {
+      StringBuilder surname = new StringBuilder();
+      for (int i = 2 + random.nextInt(2); i > 0; i--) {
+        surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+      surname.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+      index.put(id, surname + " " + NAMES[random.nextInt(NAMES.length)]);
+    }
+    index.put(students + 1L, "Доморощенов Иван Петрович");
+  }
+
+  @Benchmark
+  public List<Match> fullName() {
+    return index.search("Доморощенов Иван", 10, minSimilarity);
+  }
+
+  @Benchmark
+  public List<Match> misspelledSurname() {
+    return index.search("Дамарощенав", 10, minSimilarity);
+  }
+
+  @Benchmark
+  public List<Match> commonName() {
+    return index.search("Иван", 10, minSimilarity);
+  }
+}
@@ -0,0 +1,66 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudentSerializationBenchmark {
+
+  private ObjectWriter responseWriter;
+  private ObjectReader responseReader;
+  private ObjectWriter requestWriter;
+  private ObjectReader requestReader;
+
+  private StudentResponse response;
+  private StudentCreateRequest request;
+  private byte[] responseJson;
+  private byte[] requestJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    responseWriter = objectMapper.writerFor(StudentResponse.class);
+    responseReader = objectMapper.readerFor(StudentResponse.class);
+    requestWriter = objectMapper.writerFor(StudentCreateRequest.class);
+    requestReader = objectMapper.readerFor(StudentCreateRequest.class);
+
+    response = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    responseJson = responseWriter.writeValueAsBytes(response);
+    requestJson = requestWriter.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public byte[] serializeResponse() throws IOException {
+    return responseWriter.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public StudentResponse deserializeResponse() throws IOException {
+    return responseReader.readValue(responseJson);
+  }
+
+  @Benchmark
+  public byte[] serializeCreateRequest() throws IOException {
+    return requestWriter.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public StudentCreateRequest deserializeCreateRequest() throws IOException {
+    return requestReader.readValue(requestJson);
+  }
+}
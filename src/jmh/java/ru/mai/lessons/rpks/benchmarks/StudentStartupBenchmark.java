@@ -0,0 +1,176 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Время от запуска JVM до первого успешного {@code GET /student/get}. Приложение стартует
+ * отдельным процессом над файловой базой H2, в которую миграции и тестовый студент записаны
+ * заранее. Режимы: обычный jar; профиль fast-startup (с AOT, если jar собран с -Paot);
+ * то же с архивом CDS из {@code ./gradlew cdsArchive}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentStartupBenchmark {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+  private static final long POLL_INTERVAL_MILLIS = 10;
+
+  @Param({"JAR", "FAST_STARTUP", "FAST_STARTUP_CDS"})
+  public String mode;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  private Path databaseDirectory;
+  private Long studentId;
+  private Process process;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    databaseDirectory = Files.createTempDirectory("student-startup");
+    int port = freePort();
+    process = launch("JAR", port);
+    try {
+      awaitStarted(port);
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/student/save"))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString("{\"fullName\":\"Domoroschenov\",\"groupName\":\"М8О-411Б\"}"))
+              .build(),
+          HttpResponse.BodyHandlers.ofString()
+      );
+      studentId = new ObjectMapper().readTree(response.body()).get("id").asLong();
+    } finally {
+      stop();
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void stop() throws InterruptedException {
+    if (process != null) {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+      process = null;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(databaseDirectory);
+  }
+
+  @Benchmark
+  public int firstSuccessfulGet() throws Exception {
+    int port = freePort();
+    process = launch(mode, port);
+    URI uri = URI.create("http://localhost:" + port + "/student/get?id=" + studentId);
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        HttpResponse<Void> response = client.send(
+            HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 200) {
+          return response.statusCode();
+        }
+      } catch (ConnectException ex) {
+        ensureAlive();
+      }
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    throw new IllegalStateException("Приложение не ответило за " + STARTUP_TIMEOUT);
+  }
+
+  private void awaitStarted(int port) throws Exception {
+    URI uri = URI.create("http://localhost:" + port + "/actuator/health");
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return;
+      } catch (ConnectException ex) {
+        ensureAlive();
+      }
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    throw new IllegalStateException("Приложение не запустилось за " + STARTUP_TIMEOUT);
+  }
+
+  private void ensureAlive() {
+    if (!process.isAlive()) {
+      throw new IllegalStateException("Приложение завершилось с кодом " + process.exitValue());
+    }
+  }
+
+  private Process launch(String launchMode, int port) throws IOException {
+    File cdsDirectory = new File(System.getProperty("startup.cds.directory"));
+    File jar = new File(System.getProperty("startup.jar"));
+
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    if ("FAST_STARTUP_CDS".equals(launchMode)) {
+      File archive = new File(cdsDirectory, "application.jsa");
+      if (!archive.isFile()) {
+        throw new IllegalStateException("Архив CDS не найден, выполните ./gradlew cdsArchive");
+      }
+      command.add("-XX:SharedArchiveFile=" + archive);
+    }
+    if (!"JAR".equals(launchMode) && Boolean.getBoolean("startup.aot")) {
+      command.add("-Dspring.aot.enabled=true");
+    }
+    command.add("-jar");
+    command.add("JAR".equals(launchMode) ? jar.toString() : new File(cdsDirectory, jar.getName()).toString());
+    if (!"JAR".equals(launchMode)) {
+      command.add("--spring.profiles.active=fast-startup");
+    }
+    command.add("--server.port=" + port);
+    command.add("--spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve("students")
+        + ";MODE=PostgreSQL;FILE_LOCK=NO");
+    command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+    command.add("--spring.datasource.username=sa");
+    command.add("--spring.datasource.password=");
+    // Без чтения метаданных JDBC Hibernate должен знать базу заранее: версия H2, которую задает Spring Boot.
+    command.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+    command.add("--spring.jpa.properties.jakarta.persistence.database-product-name=H2");
+    command.add("--spring.jpa.properties.jakarta.persistence.database-major-version=2");
+    command.add("--spring.jpa.properties.jakarta.persistence.database-minor-version=3");
+    command.add("--logging.level.root=WARN");
+
+    return new ProcessBuilder(command)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.DISCARD)
+        .start();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.mai.lessons.rpks.batch.StudentWriteBatcher;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Вставок в секунду при конкурентных одиночных сохранениях с накоплением в пакеты и без него.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class StudentWriteBatcherBenchmark {
+
+  @Param({"false", "true"})
+  public boolean writeBatchEnabled;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private ConfigurableApplicationContext context;
+  private StudentService service;
+  private StudentWriteBatcher writeBatcher;
+  private StudentRepository repository;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkApplication.start(
+        WebApplicationType.NONE,
+        "--student.write-batch.enabled=" + writeBatchEnabled
+    );
+    service = context.getBean(StudentService.class);
+    writeBatcher = context.getBean(StudentWriteBatcher.class);
+    repository = context.getBean(StudentRepository.class);
+  }
+
+  @TearDown(Level.Iteration)
+  public void clear() {
+    repository.deleteAllInBatch();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public StudentResponse saveStudent() {
+    StudentCreateRequest request = BenchmarkApplication.request(sequence.incrementAndGet());
+    return writeBatcher.isEnabled() ? writeBatcher.save(request) : service.saveStudent(request);
+  }
+}
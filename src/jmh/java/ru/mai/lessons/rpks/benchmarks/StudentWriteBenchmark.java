@@ -0,0 +1,80 @@
+package ru.mai.lessons.rpks.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Вставок в секунду: по одной записи на транзакцию против пакетного сохранения с JDBC batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentWriteBenchmark {
+
+  private static final int BATCH_SIZE = 100;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private ConfigurableApplicationContext context;
+  private StudentService service;
+  private StudentRepository repository;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkApplication.start(WebApplicationType.NONE);
+    service = context.getBean(StudentService.class);
+    repository = context.getBean(StudentRepository.class);
+  }
+
+  @TearDown(Level.Iteration)
+  public void clear() {
+    repository.deleteAllInBatch();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Long saveOneByOne() {
+    Long last = null;
+    for (StudentCreateRequest request : requests()) {
+      last = service.saveStudent(request).getId();
+    }
+    return last;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<StudentBatchItemResponse> saveBatch() {
+    return service.saveStudents(requests());
+  }
+
+  private List<StudentCreateRequest> requests() {
+    List<StudentCreateRequest> requests = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      requests.add(BenchmarkApplication.request(sequence.incrementAndGet()));
+    }
+    return requests;
+  }
+}
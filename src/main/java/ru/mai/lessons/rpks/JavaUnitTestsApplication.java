@@ -2,8 +2,13 @@ package ru.mai.lessons.rpks;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.mai.lessons.rpks.config.StudentProperties;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties(StudentProperties.class)
 public class JavaUnitTestsApplication {
 
 	public static void main(String[] args) {
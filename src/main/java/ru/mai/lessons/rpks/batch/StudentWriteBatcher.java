@@ -0,0 +1,220 @@
+package ru.mai.lessons.rpks.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.DatabaseOverloadedException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Собирает одиночные запросы на создание студентов в пакеты: первый запрос ждет попутчиков не
+ * дольше {@code maxLinger}, пакет ограничен {@code maxBatch} записями и сохраняется через
+ * {@link StudentService#saveStudents} одной транзакцией. Каждый вызывающий получает свой ответ или
+ * свою ошибку. Если пакет целиком завершился ошибкой, его записи сохраняются по одной, чтобы
+ * ошибка одной записи не досталась остальным.
+ *
+ * <p>Вызывающий ждет ответа не дольше {@code maxWait}: если запрос за это время не попал в пакет,
+ * он сохраняется напрямую. Если пакет с запросом уже сохраняется, вызывающий ждет его завершения:
+ * ответ об ошибке привел бы к повтору запроса и дублю, если пакет все же зафиксируется. Если поток
+ * сохранения остановился, новые запросы тоже сохраняются напрямую.
+ */
+@Slf4j
+@Component
+public class StudentWriteBatcher {
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+  private static final String ERROR_DELIMITER = "; ";
+
+  private final StudentService studentService;
+  @Getter
+  private final boolean enabled;
+  private final int maxBatch;
+  private final long maxLingerNanos;
+  private final long maxWaitNanos;
+  private final BlockingQueue<PendingInsert> queue;
+  private final DistributionSummary batchSizeSummary;
+  private final Counter fallbackCounter;
+
+  private volatile boolean running;
+  private volatile Thread flusher;
+
+  public StudentWriteBatcher(
+      StudentService studentService,
+      StudentProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    StudentProperties.WriteBatch settings = properties.getWriteBatch();
+    this.studentService = studentService;
+    this.enabled = settings.isEnabled();
+    this.maxBatch = settings.getMaxBatch();
+    this.maxLingerNanos = settings.getMaxLinger().toNanos();
+    this.maxWaitNanos = settings.getMaxWait().toNanos();
+    this.queue = new ArrayBlockingQueue<>(settings.getQueueSize());
+    this.batchSizeSummary = DistributionSummary.builder("student.write.batch.size")
+        .description("Количество студентов в одном пакете на сохранение")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    this.fallbackCounter = Counter.builder("student.write.batch.fallbacks")
+        .description("Количество пакетов, сохраненных по одной записи после ошибки")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+
+    running = true;
+    flusher = new Thread(this::run, "student-write-batcher");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (flusher != null) {
+      flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    PendingInsert pending;
+    while ((pending = queue.poll()) != null) {
+      saveSingle(pending);
+    }
+  }
+
+  public StudentResponse save(StudentCreateRequest request) {
+    PendingInsert pending = new PendingInsert(request, new CompletableFuture<>());
+    if (!isFlusherAlive() || !queue.offer(pending)) {
+      return studentService.saveStudent(request);
+    }
+
+    try {
+      return await(pending);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private StudentResponse await(PendingInsert pending) throws ExecutionException, InterruptedException {
+    try {
+      return pending.result().get(maxLingerNanos + maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      // Запрос, который поток сохранения еще не забрал, можно сохранить напрямую без риска дубля.
+      if (queue.remove(pending)) {
+        log.warn("Запрос на сохранение студента не дождался пакета, сохранение напрямую");
+        return studentService.saveStudent(pending.request());
+      }
+
+      // Пакет уже сохраняется и может зафиксироваться. Его время ограничено транзакцией, а поток
+      // сохранения завершает ответ при любой ошибке.
+      log.warn("Пакет с запросом на сохранение студента выполняется дольше {} мс, ожидание завершения",
+          TimeUnit.NANOSECONDS.toMillis(maxLingerNanos + maxWaitNanos));
+      return pending.result().get();
+    }
+  }
+
+  private boolean isFlusherAlive() {
+    Thread thread = flusher;
+    return running && thread != null && thread.isAlive();
+  }
+
+  private void run() {
+    List<PendingInsert> batch = new ArrayList<>(maxBatch);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingInsert first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (batch.size() < maxBatch) {
+          long remaining = deadline - System.nanoTime();
+          PendingInsert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<PendingInsert> batch) {
+    batchSizeSummary.record(batch.size());
+    try {
+      List<StudentBatchItemResponse> results = studentService.saveStudents(
+          batch.stream().map(PendingInsert::request).toList());
+      for (int i = 0; i < batch.size(); i++) {
+        complete(batch.get(i), results.get(i));
+      }
+    } catch (DatabaseOverloadedException ex) {
+      batch.forEach(pending -> pending.result().completeExceptionally(ex));
+    } catch (RuntimeException ex) {
+      fallbackCounter.increment();
+      log.warn("Пакетное сохранение студентов не удалось, сохранение по одному: size={}", batch.size(), ex);
+      batch.forEach(this::saveSingle);
+    } catch (Throwable ex) {
+      // Ошибка, не являющаяся исключением сервиса, не должна оставить вызывающих без ответа
+      // и остановить поток сохранения.
+      log.error("Пакетное сохранение студентов завершилось ошибкой: size={}", batch.size(), ex);
+      batch.forEach(pending -> pending.result().completeExceptionally(ex));
+    }
+  }
+
+  private void complete(PendingInsert pending, StudentBatchItemResponse result) {
+    if (result.getErrors() == null || result.getErrors().isEmpty()) {
+      pending.result().complete(result.getStudent());
+    } else {
+      pending.result().completeExceptionally(
+          new StudentValidationException(String.join(ERROR_DELIMITER, result.getErrors())));
+    }
+  }
+
+  private void saveSingle(PendingInsert pending) {
+    try {
+      pending.result().complete(studentService.saveStudent(pending.request()));
+    } catch (Throwable ex) {
+      pending.result().completeExceptionally(ex);
+    }
+  }
+
+  private record PendingInsert(StudentCreateRequest request, CompletableFuture<StudentResponse> result) {
+  }
+}
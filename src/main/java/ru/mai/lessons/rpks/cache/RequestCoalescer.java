@@ -0,0 +1,90 @@
+package ru.mai.lessons.rpks.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные загрузки по одному ключу: первый запрос выполняет загрузку, остальные
+ * ждут его результата или исключения. Если ожидание превышает {@code maxWait}, запрос выполняет
+ * загрузку самостоятельно, поэтому зависшая загрузка не блокирует остальные запросы надолго.
+ */
+public class RequestCoalescer<K, V> {
+
+  private final boolean enabled;
+  private final long maxWaitNanos;
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter leaderCounter;
+  private final Counter coalescedCounter;
+  private final Counter timeoutCounter;
+
+  public RequestCoalescer(String name, boolean enabled, Duration maxWait, MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.leaderCounter = counter(name, "leader", meterRegistry);
+    this.coalescedCounter = counter(name, "coalesced", meterRegistry);
+    this.timeoutCounter = counter(name, "timeout", meterRegistry);
+  }
+
+  public V execute(K key, Supplier<V> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+    if (running == null) {
+      leaderCounter.increment();
+      return load(key, own, loader);
+    }
+
+    try {
+      V value = running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+      coalescedCounter.increment();
+      return value;
+    } catch (ExecutionException ex) {
+      coalescedCounter.increment();
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      timeoutCounter.increment();
+      return loader.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private V load(K key, CompletableFuture<V> own, Supplier<V> loader) {
+    try {
+      V value = loader.get();
+      own.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      own.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  private static Counter counter(String name, String result, MeterRegistry meterRegistry) {
+    return Counter.builder("student.coalescing.calls")
+        .tag("name", name)
+        .tag("result", result)
+        .description("Количество загрузок, выполненных самостоятельно или объединенных с уже выполняющейся")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,95 @@
+package ru.mai.lessons.rpks.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.events.StudentChangedEvent.Type;
+
+@Component
+public class StudentCache {
+
+  private static final String CACHE_NAME = "students";
+
+  private final boolean enabled;
+  private final Cache<Long, StudentResponse> cache;
+  // Эпоха последней инвалидации по ключу: загрузка, начатая раньше, не должна вернуть в кэш устаревшую строку.
+  private final Cache<Long, Long> invalidations;
+  private final AtomicLong epoch = new AtomicLong();
+
+  public StudentCache(StudentProperties properties, MeterRegistry meterRegistry) {
+    StudentProperties.Cache settings = properties.getCache();
+    this.enabled = settings.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(settings.getMaximumSize())
+        .expireAfterWrite(settings.getExpireAfterWrite())
+        .recordStats()
+        .build();
+    this.invalidations = Caffeine.newBuilder()
+        .maximumSize(settings.getMaximumSize())
+        .expireAfterWrite(settings.getExpireAfterWrite())
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public StudentResponse get(Long id) {
+    return enabled ? cache.getIfPresent(id) : null;
+  }
+
+  public void put(StudentResponse student) {
+    if (enabled && student != null && student.getId() != null) {
+      // Чтение с отстающей реплики не должно затирать более свежую версию в кэше.
+      cache.asMap().merge(student.getId(), student, StudentCache::newer);
+    }
+  }
+
+  /**
+   * Эпоха, которую нужно запомнить до чтения из базы и передать в {@link #put(StudentResponse, long)}.
+   */
+  public long epoch() {
+    return epoch.get();
+  }
+
+  /**
+   * Записывает строку, прочитанную из базы после получения {@code loadEpoch}.
+   * Если ключ был инвалидирован после этого момента, строка могла устареть и не кэшируется.
+   */
+  public void put(StudentResponse student, long loadEpoch) {
+    if (enabled && student != null && student.getId() != null) {
+      cache.asMap().compute(student.getId(), (id, current) -> {
+        Long invalidatedAt = invalidations.getIfPresent(id);
+        if (invalidatedAt != null && invalidatedAt > loadEpoch) {
+          return current;
+        }
+        return current == null ? student : newer(current, student);
+      });
+    }
+  }
+
+  public void evict(Long id) {
+    invalidations.put(id, epoch.incrementAndGet());
+    cache.invalidate(id);
+  }
+
+  private static StudentResponse newer(StudentResponse current, StudentResponse candidate) {
+    if (current.getVersion() == null || candidate.getVersion() == null) {
+      return candidate;
+    }
+    return candidate.getVersion() >= current.getVersion() ? candidate : current;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (event.getType() == Type.DELETED || event.getStudent() == null) {
+      evict(event.getId());
+    } else {
+      put(event.getStudent());
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package ru.mai.lessons.rpks.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.events.StudentChangedEvent.Type;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+
+/**
+ * Битовая карта существующих идентификаторов студентов. Идентификаторы выдаются последовательностью
+ * и лежат плотно, поэтому карта разбита на страницы по {@value #PAGE_BITS} бит, которые создаются
+ * только для занятых диапазонов: десять миллионов идентификаторов занимают около 1,3 МБ.
+ *
+ * <p>Карта строится при старте приложения и поддерживается событиями после фиксации транзакций.
+ * Ошибиться она может только в безопасную сторону: удаленный во время построения идентификатор
+ * останется отмеченным, и запрос уйдет в базу данных. Изменения, сделанные в обход приложения или
+ * другими его экземплярами, карта не видит, поэтому фильтр включается явно.
+ */
+@Slf4j
+@Component
+public class StudentIdFilter {
+
+  private static final int PAGE_SHIFT = 16;
+  private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+  private static final int WORDS_PER_PAGE = PAGE_BITS / Long.SIZE;
+  private static final long PAGE_BYTES = (long) WORDS_PER_PAGE * Long.BYTES;
+
+  private final boolean enabled;
+  private final StudentRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ConcurrentMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+  private final Counter absentCounter;
+  private final Counter maybePresentCounter;
+  private final Counter falsePositiveCounter;
+
+  private volatile boolean ready;
+
+  public StudentIdFilter(
+      StudentProperties properties,
+      StudentRepository repository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry
+  ) {
+    this.enabled = properties.getIdFilter().isEnabled();
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.absentCounter = Counter.builder("student.id.filter.lookups")
+        .tag("result", "absent")
+        .description("Количество запросов, отклоненных фильтром идентификаторов без обращения к базе данных")
+        .register(meterRegistry);
+    this.maybePresentCounter = Counter.builder("student.id.filter.lookups")
+        .tag("result", "maybe_present")
+        .description("Количество запросов, пропущенных фильтром идентификаторов в базу данных")
+        .register(meterRegistry);
+    this.falsePositiveCounter = Counter.builder("student.id.filter.false.positives")
+        .description("Количество пропущенных фильтром идентификаторов, которых не оказалось в базе данных")
+        .register(meterRegistry);
+    Gauge.builder("student.id.filter.memory", pages, map -> map.size() * PAGE_BYTES)
+        .description("Объем памяти, занятой фильтром идентификаторов")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+
+    AtomicLong count = new AtomicLong();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<Long> ids = repository.streamAllIds()) {
+        ids.forEach(id -> {
+          add(id);
+          count.incrementAndGet();
+        });
+      }
+    });
+    ready = true;
+    log.info("Фильтр идентификаторов студентов построен: {} записей, {} страниц", count.get(), pages.size());
+  }
+
+  /**
+   * Возвращает {@code true}, только если студента с таким идентификатором точно нет. Пока фильтр
+   * выключен или еще не построен, любой идентификатор считается возможно существующим.
+   */
+  public boolean isDefinitelyAbsent(Long id) {
+    if (!ready) {
+      return false;
+    }
+
+    boolean absent = !contains(id);
+    (absent ? absentCounter : maybePresentCounter).increment();
+    return absent;
+  }
+
+  public void recordFalsePositive() {
+    if (ready) {
+      falsePositiveCounter.increment();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || event.getId() == null) {
+      return;
+    }
+
+    if (event.getType() == Type.SAVED) {
+      add(event.getId());
+    } else if (event.getType() == Type.DELETED) {
+      remove(event.getId());
+    }
+  }
+
+  private boolean contains(Long id) {
+    if (id == null || id < 0) {
+      return false;
+    }
+
+    AtomicLongArray page = pages.get(id >>> PAGE_SHIFT);
+    return page != null && (page.get(wordIndex(id)) & bit(id)) != 0;
+  }
+
+  private void add(long id) {
+    if (id < 0) {
+      return;
+    }
+
+    AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_SHIFT, key -> new AtomicLongArray(WORDS_PER_PAGE));
+    int index = wordIndex(id);
+    long mask = bit(id);
+    page.getAndAccumulate(index, mask, (word, value) -> word | value);
+  }
+
+  private void remove(long id) {
+    if (id < 0) {
+      return;
+    }
+
+    AtomicLongArray page = pages.get(id >>> PAGE_SHIFT);
+    if (page != null) {
+      page.getAndAccumulate(wordIndex(id), ~bit(id), (word, value) -> word & value);
+    }
+  }
+
+  private static int wordIndex(long id) {
+    return (int) (id & (PAGE_BITS - 1)) >>> 6;
+  }
+
+  private static long bit(long id) {
+    return 1L << (id & (Long.SIZE - 1));
+  }
+}
@@ -0,0 +1,29 @@
+package ru.mai.lessons.rpks.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Конвертеры CBOR и Smile, собранные тем же {@link Jackson2ObjectMapperBuilder}, что и JSON
+ * (билдер в Spring Boot создаётся заново для каждой точки внедрения),
+ * чтобы DTO сериализовались одинаково во всех форматах. Формат выбирается по заголовкам
+ * Accept и Content-Type; JSON остаётся форматом по умолчанию.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,20 @@
+package ru.mai.lessons.rpks.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.mai.lessons.rpks.cache.RequestCoalescer;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+@Configuration
+public class CoalescingConfig {
+
+  @Bean
+  public RequestCoalescer<Long, StudentResponse> studentReadCoalescer(
+      StudentProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    StudentProperties.Coalescing settings = properties.getCoalescing();
+    return new RequestCoalescer<>("students", settings.isEnabled(), settings.getMaxWait(), meterRegistry);
+  }
+}
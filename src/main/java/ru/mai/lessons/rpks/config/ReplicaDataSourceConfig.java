@@ -0,0 +1,71 @@
+package ru.mai.lessons.rpks.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.mai.lessons.rpks.datasource.ReplicaDataSource;
+
+/**
+ * Разделение чтения и записи: транзакции только для чтения получают соединение реплики,
+ * остальные — основной базы. {@link LazyConnectionDataSourceProxy} откладывает получение
+ * физического соединения до первого запроса, когда признак read-only транзакции уже выставлен.
+ * Признак выставляет только настоящая транзакция: в области {@code SUPPORTS} соединение остается
+ * обычным, поэтому запросы, читающие с реплики, объявляют собственную транзакцию только для чтения.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "student.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReplicaDataSource replicaDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties dataSourceProperties,
+      StudentProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    StudentProperties.Replicas settings = properties.getReplicas();
+    List<String> urls = settings.getUrls();
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (int i = 0; i < urls.size(); i++) {
+      HikariConfig config = new HikariConfig();
+      config.setPoolName("replica-" + i);
+      config.setJdbcUrl(urls.get(i));
+      config.setUsername(dataSourceProperties.determineUsername());
+      config.setPassword(dataSourceProperties.determinePassword());
+      config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+      config.setMaximumPoolSize(settings.getMaximumPoolSize());
+      config.setReadOnly(true);
+      // Недоступная при старте реплика не должна мешать запуску приложения.
+      config.setInitializationFailTimeout(-1);
+      config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.put(config.getPoolName(), new HikariDataSource(config));
+    }
+    return new ReplicaDataSource(primaryDataSource, replicas, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaDataSource);
+    return dataSource;
+  }
+}
@@ -0,0 +1,163 @@
+package ru.mai.lessons.rpks.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student")
+public class StudentProperties {
+
+  private final Batch batch = new Batch();
+
+  private final Cache cache = new Cache();
+
+  private final Lookup lookup = new Lookup();
+
+  private final Limiter limiter = new Limiter();
+
+  private final AccessLog accessLog = new AccessLog();
+
+  private final IdFilter idFilter = new IdFilter();
+
+  private final Idempotency idempotency = new Idempotency();
+
+  private final Coalescing coalescing = new Coalescing();
+
+  private final WriteBatch writeBatch = new WriteBatch();
+
+  private final Replicas replicas = new Replicas();
+
+  private final Search search = new Search();
+
+  @Getter
+  @Setter
+  public static class Batch {
+
+    private int chunkSize = 50;
+  }
+
+  @Getter
+  @Setter
+  public static class Cache {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 100_000;
+
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+  }
+
+  @Getter
+  @Setter
+  public static class Lookup {
+
+    private int chunkSize = 512;
+  }
+
+  @Getter
+  @Setter
+  public static class Limiter {
+
+    private boolean enabled = true;
+
+    private int maxConcurrent = 50;
+
+    private int maxQueue = 200;
+
+    private Duration maxWait = Duration.ofSeconds(1);
+  }
+
+  @Getter
+  @Setter
+  public static class AccessLog {
+
+    private boolean enabled = true;
+
+    private double sampleRate = 0.01;
+
+    private double errorSampleRate = 1.0;
+
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    private int queueSize = 8192;
+  }
+
+  @Getter
+  @Setter
+  public static class IdFilter {
+
+    private boolean enabled = false;
+  }
+
+  @Getter
+  @Setter
+  public static class Idempotency {
+
+    private Duration ttl = Duration.ofHours(24);
+
+    private long maximumSize = 100_000;
+
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    private Duration waitTimeout = Duration.ofSeconds(10);
+  }
+
+  @Getter
+  @Setter
+  public static class Coalescing {
+
+    private boolean enabled = true;
+
+    private Duration maxWait = Duration.ofSeconds(2);
+  }
+
+  @Getter
+  @Setter
+  public static class WriteBatch {
+
+    private boolean enabled = false;
+
+    private Duration maxLinger = Duration.ofMillis(5);
+
+    private int maxBatch = 100;
+
+    private int queueSize = 10_000;
+
+    private Duration maxWait = Duration.ofSeconds(10);
+  }
+
+  @Getter
+  @Setter
+  public static class Replicas {
+
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    private int maximumPoolSize = 10;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    private boolean stickyByAddress = false;
+  }
+
+  @Getter
+  @Setter
+  public static class Search {
+
+    private boolean enabled = true;
+
+    private double minSimilarity = 0.4;
+
+    private int rebuildAttempts = 3;
+
+    private Duration rebuildRetryDelay = Duration.ofSeconds(5);
+  }
+}
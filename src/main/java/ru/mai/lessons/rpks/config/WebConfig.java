@@ -0,0 +1,23 @@
+package ru.mai.lessons.rpks.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.mai.lessons.rpks.datasource.ReadYourWritesInterceptor;
+import ru.mai.lessons.rpks.logging.AccessLogInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AccessLogInterceptor accessLogInterceptor;
+
+  private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(accessLogInterceptor).addPathPatterns("/student/**");
+    registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/student/**");
+  }
+}
@@ -0,0 +1,46 @@
+package ru.mai.lessons.rpks.controllers;
+
+import lombok.experimental.UtilityClass;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+
+/**
+ * Разбор условных заголовков, общий для сервлетного и реактивного API.
+ */
+@UtilityClass
+public class ETags {
+
+  private static final String ANY_VERSION = "*";
+  private static final String WEAK_ETAG_PREFIX = "W/";
+  private static final char ETAG_SEPARATOR = ',';
+
+  /**
+   * Версия из заголовка If-Match. Поддерживается один ETag: список из нескольких значений отклоняется
+   * как некорректный запрос. Слабый ETag при строгом сравнении (RFC 9110, 13.1.1) не совпадает ни с
+   * одной версией, поэтому запрос с ним завершается так же, как при несовпадении версии.
+   *
+   * @return версия или {@code null}, если заголовок не задан или равен {@code *}
+   */
+  public static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ANY_VERSION.equals(ifMatch.trim())) {
+      return null;
+    }
+
+    String version = ifMatch.trim();
+    if (version.indexOf(ETAG_SEPARATOR) >= 0) {
+      throw new StudentValidationException("Заголовок If-Match должен содержать один ETag");
+    }
+    if (version.startsWith(WEAK_ETAG_PREFIX)) {
+      throw StudentConflictException.INSTANCE;
+    }
+    if (version.length() > 1 && version.startsWith("\"") && version.endsWith("\"")) {
+      version = version.substring(1, version.length() - 1);
+    }
+
+    try {
+      return Long.valueOf(version);
+    } catch (NumberFormatException ex) {
+      throw new StudentValidationException("Некорректное значение заголовка If-Match");
+    }
+  }
+}
@@ -6,29 +6,55 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.client.HttpClientErrorException.BadRequest;
 import org.springframework.web.client.HttpServerErrorException.InternalServerError;
 import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
 import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
+import ru.mai.lessons.rpks.exception.ExceptionErrorMessage;
 
 @Tag(
     name = "Контроллер для управления информацией о студентах",
-    description = "Контроллер для управления информацией о студентах"
+    description = "Контроллер для управления информацией о студентах. Помимо JSON запросы и ответы "
+        + "принимаются в форматах CBOR (application/cbor) и Smile (application/x-jackson-smile) "
+        + "по заголовкам Content-Type и Accept"
 )
 public interface StudentController {
 
   @Operation(
       summary = "Создание информации о студенте",
-      description = "Создание информации о студенте",
+      description = "Создание информации о студенте. Повторный запрос с тем же заголовком Idempotency-Key "
+          + "возвращает исходный ответ без повторного создания",
       responses = {
           @ApiResponse(
               responseCode = "200",
@@ -48,6 +74,22 @@ public interface StudentController {
                   schema = @Schema(implementation = BadRequest.class)
               )
           ),
+          @ApiResponse(
+              responseCode = "409",
+              description = "Запрос с тем же ключом идемпотентности еще выполняется",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "422",
+              description = "Ключ идемпотентности уже использован с другим запросом",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Ошибка на стороне сервиса",
@@ -67,11 +109,156 @@ public interface StudentController {
       )
   )
   @PostMapping("/save")
-  StudentResponse saveStudent(@RequestBody @Valid StudentCreateRequest request);
+  StudentResponse saveStudent(
+      @RequestBody @Valid StudentCreateRequest request,
+      @RequestHeader(value = "Idempotency-Key", required = false)
+      @Size(max = 100, message = "Ключ идемпотентности не должен превышать 100 символов")
+      String idempotencyKey);
+
+  @Operation(
+      summary = "Пакетное создание информации о студентах",
+      description = "Пакетное создание информации о студентах с результатом по каждому элементу",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешная обработка пакета студентов",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(
+                      schema = @Schema(implementation = StudentBatchItemResponse.class)
+                  )
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Запрос на пакетное создание информации о студентах",
+      required = true,
+      content = @Content(
+          mediaType = "application/json",
+          array = @ArraySchema(
+              schema = @Schema(implementation = StudentCreateRequest.class)
+          )
+      )
+  )
+  @PostMapping("/save-batch")
+  List<StudentBatchItemResponse> saveStudents(
+      @RequestBody
+      @NotEmpty(message = "Список студентов не должен быть пустым")
+      @Size(max = 10000, message = "Размер пакета не должен превышать 10000 студентов")
+      List<StudentCreateRequest> requests);
+
+  @Operation(
+      summary = "Потоковый импорт информации о студентах",
+      description = "Потоковый импорт информации о студентах в формате NDJSON с построчным результатом",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Построчный результат импорта студентов",
+              content = @Content(
+                  mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = StudentBatchItemResponse.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Поток запросов на создание информации о студентах, по одному JSON в строке",
+      required = true,
+      content = @Content(
+          mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+          schema = @Schema(implementation = StudentCreateRequest.class)
+      )
+  )
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE
+  )
+  void importStudents(InputStream input, HttpServletResponse response) throws IOException;
+
+  @Operation(
+      summary = "Потоковая выгрузка информации о всех студентах",
+      description = "Потоковая выгрузка информации о всех студентах в формате NDJSON, CSV "
+          + "или последовательности CBOR-значений",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешная выгрузка информации о студентах",
+              content = {
+                  @Content(
+                      mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                      schema = @Schema(implementation = StudentResponse.class)
+                  ),
+                  @Content(
+                      mediaType = "text/csv",
+                      schema = @Schema(type = "string")
+                  ),
+                  @Content(
+                      mediaType = "application/cbor-seq",
+                      schema = @Schema(implementation = StudentResponse.class)
+                  )
+              }
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @GetMapping("/export")
+  void exportStudents(
+      @RequestParam(value = "format", defaultValue = "NDJSON") StudentExportFormat format,
+      HttpServletResponse response) throws IOException;
 
   @Operation(
       summary = "Получение информации о студенте по его идентификатору",
-      description = "Получение информации о студенте по его идентификатору",
+      description = "Получение информации о студенте по его идентификатору. Версия записи возвращается "
+          + "в заголовке ETag; при совпадении с заголовком If-None-Match тело ответа не передается",
       responses = {
           @ApiResponse(
               responseCode = "200",
@@ -83,6 +270,10 @@ public interface StudentController {
                   )
               )
           ),
+          @ApiResponse(
+              responseCode = "304",
+              description = "Информация о студенте не изменилась с версии из заголовка If-None-Match"
+          ),
           @ApiResponse(
               responseCode = "400",
               description = "Неверный формат запроса",
@@ -91,6 +282,14 @@ public interface StudentController {
                   schema = @Schema(implementation = BadRequest.class)
               )
           ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Студент не найден",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Ошибка на стороне сервиса",
@@ -102,11 +301,192 @@ public interface StudentController {
       }
   )
   @GetMapping("/get")
-  StudentResponse getStudent(@RequestParam("id") @NotNull Long id);
+  ResponseEntity<StudentResponse> getStudent(@RequestParam("id") @NotNull Long id);
+
+  @Operation(
+      summary = "Получение информации о нескольких студентах по их идентификаторам",
+      description = "Получение информации о нескольких студентах по их идентификаторам. Результаты "
+          + "возвращаются в порядке запроса, отсутствующие студенты отмечаются признаком found = false. "
+          + "Длинные списки идентификаторов передаются методом POST",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешное получение информации о студентах",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(
+                      schema = @Schema(implementation = StudentLookupResponse.class)
+                  )
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @GetMapping("/get-many")
+  List<StudentLookupResponse> getStudents(
+      @RequestParam("ids")
+      @NotEmpty(message = "Список идентификаторов не должен быть пустым")
+      @Size(max = 10000, message = "Количество идентификаторов не должно превышать 10000")
+      List<@NotNull(message = "Идентификатор не должен быть null") Long> ids);
+
+  @Operation(
+      summary = "Получение информации о нескольких студентах по их идентификаторам",
+      description = "Получение информации о нескольких студентах по их идентификаторам. Результаты "
+          + "возвращаются в порядке запроса, отсутствующие студенты отмечаются признаком found = false. "
+          + "Длинные списки идентификаторов передаются методом POST",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешное получение информации о студентах",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(
+                      schema = @Schema(implementation = StudentLookupResponse.class)
+                  )
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Список идентификаторов студентов",
+      required = true,
+      content = @Content(
+          mediaType = "application/json",
+          array = @ArraySchema(
+              schema = @Schema(type = "integer", format = "int64")
+          )
+      )
+  )
+  @PostMapping("/get-many")
+  List<StudentLookupResponse> getStudentsByBody(
+      @RequestBody
+      @NotEmpty(message = "Список идентификаторов не должен быть пустым")
+      @Size(max = 10000, message = "Количество идентификаторов не должно превышать 10000")
+      List<@NotNull(message = "Идентификатор не должен быть null") Long> ids);
+
+  @Operation(
+      summary = "Получение страницы со списком студентов",
+      description = "Получение страницы со списком студентов с фильтрацией по группе и началу полного имени. "
+          + "Следующая страница запрашивается по идентификатору последнего студента на текущей странице",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешное получение страницы со списком студентов",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentPageResponse.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @GetMapping("/list")
+  StudentPageResponse listStudents(
+      @RequestParam(value = "afterId", defaultValue = "0")
+      @Min(value = 0, message = "Идентификатор не должен быть отрицательным")
+      Long afterId,
+      @RequestParam(value = "limit", defaultValue = "100")
+      @Min(value = 1, message = "Размер страницы должен быть не меньше 1")
+      @Max(value = 1000, message = "Размер страницы не должен превышать 1000")
+      int limit,
+      @RequestParam(value = "groupName", required = false) String groupName,
+      @RequestParam(value = "fullNamePrefix", required = false) String fullNamePrefix);
+
+  @Operation(
+      summary = "Нечеткий поиск студентов по полному имени",
+      description = "Нечеткий поиск студентов по части полного имени или имени с опечатками. Результаты "
+          + "упорядочены по убыванию сходства; регистр и различие букв «е» и «ё» не учитываются",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешный поиск студентов",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(
+                      schema = @Schema(implementation = StudentSearchResponse.class)
+                  )
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @GetMapping("/search")
+  List<StudentSearchResponse> searchStudents(
+      @RequestParam("q")
+      @NotBlank(message = "Поисковый запрос не должен быть пустым")
+      @Size(max = 100, message = "Поисковый запрос не должен превышать 100 символов")
+      String query,
+      @RequestParam(value = "limit", defaultValue = "10")
+      @Min(value = 1, message = "Количество результатов должно быть не меньше 1")
+      @Max(value = 100, message = "Количество результатов не должно превышать 100")
+      int limit);
 
   @Operation(
       summary = "Обновление информации о студенте",
-      description = "Обновление информации о студенте",
+      description = "Обновление информации о студенте. При наличии заголовка If-Match запись обновляется, "
+          + "только если ее версия совпадает с переданной. Заголовок содержит один строгий ETag или *; "
+          + "слабый ETag не совпадает ни с одной версией",
       responses = {
           @ApiResponse(
               responseCode = "200",
@@ -126,6 +506,22 @@ public interface StudentController {
                   schema = @Schema(implementation = BadRequest.class)
               )
           ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Студент не найден",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "409",
+              description = "Информация о студенте была изменена другим запросом",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Ошибка на стороне сервиса",
@@ -145,11 +541,101 @@ public interface StudentController {
       )
   )
   @PutMapping("/update")
-  StudentResponse updateStudent(@RequestBody @Valid StudentUpdateRequest request);
+  StudentResponse updateStudent(
+      @RequestBody @Valid StudentUpdateRequest request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+  @Operation(
+      summary = "Частичное обновление информации о студенте",
+      description = "Обновление только переданных полей информации о студенте без предварительного чтения",
+      responses = {
+          @ApiResponse(
+              responseCode = "204",
+              description = "Успешное частичное обновление информации о студенте"
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Студент не найден",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Запрос на частичное обновление информации о студенте",
+      required = true,
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = StudentPatchRequest.class)
+      )
+  )
+  @PatchMapping("/update")
+  void patchStudent(@RequestBody @Valid StudentPatchRequest request);
+
+  @Operation(
+      summary = "Перевод всех студентов группы в другую группу",
+      description = "Перевод всех студентов группы в другую группу одним запросом к базе данных",
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Успешный перевод студентов группы",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentGroupMoveResponse.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Неверный формат запроса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = BadRequest.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Ошибка на стороне сервиса",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = InternalServerError.class)
+              )
+          )
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Запрос на перевод всех студентов группы в другую группу",
+      required = true,
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = StudentGroupMoveRequest.class)
+      )
+  )
+  @PutMapping("/move-group")
+  StudentGroupMoveResponse moveGroup(@RequestBody @Valid StudentGroupMoveRequest request);
 
   @Operation(
       summary = "Удаление информации о студенте по его идентификатору",
-      description = "Удаление информации о студенте по его идентификатору",
+      description = "Удаление информации о студенте по его идентификатору. При наличии заголовка If-Match "
+          + "запись удаляется, только если ее версия совпадает с переданной. Заголовок содержит один строгий "
+          + "ETag или *; слабый ETag не совпадает ни с одной версией",
       responses = {
           @ApiResponse(
               responseCode = "200",
@@ -169,6 +655,22 @@ public interface StudentController {
                   schema = @Schema(implementation = BadRequest.class)
               )
           ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Студент не найден",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "409",
+              description = "Информация о студенте была изменена другим запросом",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ExceptionErrorMessage.class)
+              )
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Ошибка на стороне сервиса",
@@ -180,5 +682,7 @@ public interface StudentController {
       }
   )
   @DeleteMapping("/delete")
-  StudentResponse deleteStudent(@RequestParam("id") @NotNull Long id);
+  StudentResponse deleteStudent(
+      @RequestParam("id") @NotNull Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
 }
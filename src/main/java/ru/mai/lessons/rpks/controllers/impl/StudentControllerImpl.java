@@ -1,19 +1,42 @@
 package ru.mai.lessons.rpks.controllers.impl;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.mai.lessons.rpks.batch.StudentWriteBatcher;
+import ru.mai.lessons.rpks.controllers.ETags;
 import ru.mai.lessons.rpks.controllers.StudentController;
 import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
 import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
+import ru.mai.lessons.rpks.services.StudentExportService;
+import ru.mai.lessons.rpks.services.StudentIdempotencyService;
+import ru.mai.lessons.rpks.services.StudentImportService;
 import ru.mai.lessons.rpks.services.StudentService;
 
 @Slf4j
@@ -23,44 +46,161 @@ import ru.mai.lessons.rpks.services.StudentService;
 public class StudentControllerImpl implements StudentController {
 
   private final StudentService service;
+  private final StudentImportService importService;
+  private final StudentExportService exportService;
+  private final StudentIdempotencyService idempotencyService;
+  private final StudentWriteBatcher writeBatcher;
 
   @Override
   @PostMapping("/save")
   @ResponseStatus(HttpStatus.OK)
-  public StudentResponse saveStudent(StudentCreateRequest request) {
-    log.info("Запрос на создание информации о студенте: request={}", request);
-    StudentResponse response = service.saveStudent(request);
-    log.info("Ответ о создании информации о студенте: response={}", response);
+  public StudentResponse saveStudent(StudentCreateRequest request, String idempotencyKey) {
+    log.debug("Запрос на создание информации о студенте: request={}, idempotencyKey={}", request, idempotencyKey);
+    StudentResponse response;
+    if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+      response = idempotencyService.saveStudent(idempotencyKey, request);
+    } else if (writeBatcher.isEnabled()) {
+      response = writeBatcher.save(request);
+    } else {
+      response = service.saveStudent(request);
+    }
+    log.debug("Ответ о создании информации о студенте: response={}", response);
     return response;
   }
 
   @Override
-  @GetMapping("/get")
+  @PostMapping("/save-batch")
   @ResponseStatus(HttpStatus.OK)
-  public StudentResponse getStudent(Long id) {
-    log.info("Запрос на получение информации о студенте: id={}", id);
+  public List<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests) {
+    log.debug("Запрос на пакетное создание информации о студентах: size={}", requests.size());
+    List<StudentBatchItemResponse> response = service.saveStudents(requests);
+    log.debug("Ответ о пакетном создании информации о студентах: size={}", response.size());
+    return response;
+  }
+
+  @Override
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE
+  )
+  public void importStudents(InputStream input, HttpServletResponse response) throws IOException {
+    log.debug("Запрос на потоковый импорт информации о студентах");
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    long processed = importService.importStudents(input, response.getOutputStream());
+    log.debug("Ответ о потоковом импорте информации о студентах: processed={}", processed);
+  }
+
+  @Override
+  @GetMapping("/export")
+  public void exportStudents(StudentExportFormat format, HttpServletResponse response) throws IOException {
+    log.debug("Запрос на выгрузку информации о студентах: format={}", format);
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(format.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("students." + format.getFileExtension())
+            .build()
+            .toString()
+    );
+    long exported = exportService.exportStudents(format, response.getOutputStream());
+    log.debug("Ответ о выгрузке информации о студентах: exported={}", exported);
+  }
+
+  @Override
+  @GetMapping("/get")
+  public ResponseEntity<StudentResponse> getStudent(Long id) {
+    log.debug("Запрос на получение информации о студенте: id={}", id);
     StudentResponse response = service.getStudent(id);
-    log.info("Ответ о получении информации о студенте: response={}", response);
+    log.debug("Ответ о получении информации о студенте: response={}", response);
+    return ResponseEntity.ok()
+        .eTag(String.valueOf(response.getVersion()))
+        .body(response);
+  }
+
+  @Override
+  @GetMapping("/get-many")
+  @ResponseStatus(HttpStatus.OK)
+  public List<StudentLookupResponse> getStudents(List<Long> ids) {
+    log.debug("Запрос на получение информации о нескольких студентах: size={}", ids.size());
+    List<StudentLookupResponse> response = service.getStudents(ids);
+    log.debug("Ответ о получении информации о нескольких студентах: size={}", response.size());
+    return response;
+  }
+
+  @Override
+  @PostMapping("/get-many")
+  @ResponseStatus(HttpStatus.OK)
+  public List<StudentLookupResponse> getStudentsByBody(List<Long> ids) {
+    return getStudents(ids);
+  }
+
+  @Override
+  @GetMapping("/list")
+  @ResponseStatus(HttpStatus.OK)
+  public StudentPageResponse listStudents(Long afterId, int limit, String groupName, String fullNamePrefix) {
+    log.debug(
+        "Запрос на получение списка студентов: afterId={}, limit={}, groupName={}, fullNamePrefix={}",
+        afterId, limit, groupName, fullNamePrefix
+    );
+    StudentPageResponse response = service.listStudents(afterId, limit, groupName, fullNamePrefix);
+    log.debug(
+        "Ответ о получении списка студентов: size={}, nextAfterId={}",
+        response.getStudents().size(), response.getNextAfterId()
+    );
+    return response;
+  }
+
+  @Override
+  @GetMapping("/search")
+  @ResponseStatus(HttpStatus.OK)
+  public List<StudentSearchResponse> searchStudents(String query, int limit) {
+    log.debug("Запрос на поиск студентов по имени: query={}, limit={}", query, limit);
+    List<StudentSearchResponse> response = service.searchStudents(query, limit);
+    log.debug("Ответ о поиске студентов по имени: size={}", response.size());
     return response;
   }
 
   @Override
   @PutMapping("/update")
   @ResponseStatus(HttpStatus.OK)
-  public StudentResponse updateStudent(StudentUpdateRequest request) {
-    log.info("Запрос на обновление информации о студенте: request={}", request);
-    StudentResponse response = service.updateStudent(request);
-    log.info("Ответ о обновлении информации о студенте: response={}", response);
+  public StudentResponse updateStudent(StudentUpdateRequest request, String ifMatch) {
+    log.debug("Запрос на обновление информации о студенте: request={}, ifMatch={}", request, ifMatch);
+    StudentResponse response = service.updateStudent(request, ETags.parseIfMatch(ifMatch));
+    log.debug("Ответ о обновлении информации о студенте: response={}", response);
+    return response;
+  }
+
+  @Override
+  @PatchMapping("/update")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void patchStudent(StudentPatchRequest request) {
+    log.debug("Запрос на частичное обновление информации о студенте: request={}", request);
+    service.patchStudent(request);
+    log.debug("Ответ о частичном обновлении информации о студенте: id={}", request.getId());
+  }
+
+  @Override
+  @PutMapping("/move-group")
+  @ResponseStatus(HttpStatus.OK)
+  public StudentGroupMoveResponse moveGroup(StudentGroupMoveRequest request) {
+    log.debug("Запрос на перевод студентов группы: request={}", request);
+    StudentGroupMoveResponse response = service.moveGroup(request);
+    log.debug("Ответ о переводе студентов группы: response={}", response);
     return response;
   }
 
   @Override
   @DeleteMapping("/delete")
   @ResponseStatus(HttpStatus.OK)
-  public StudentResponse deleteStudent(Long id) {
-    log.info("Запрос на удаление информации о студенте: id={}", id);
-    StudentResponse response = service.deleteStudent(id);
-    log.info("Ответ о удалении информации о студенте: response={}", response);
+  public StudentResponse deleteStudent(Long id, String ifMatch) {
+    log.debug("Запрос на удаление информации о студенте: id={}, ifMatch={}", id, ifMatch);
+    StudentResponse response = service.deleteStudent(id, ETags.parseIfMatch(ifMatch));
+    log.debug("Ответ о удалении информации о студенте: response={}", response);
     return response;
   }
 }
@@ -0,0 +1,85 @@
+package ru.mai.lessons.rpks.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.mai.lessons.rpks.config.StudentProperties;
+
+/**
+ * Закрепляет чтения клиента за основной базой на короткое окно после его записи, чтобы
+ * отставание реплик не скрывало от клиента его же изменения. Клиент определяется по заголовку
+ * {@value #CLIENT_ID_HEADER}; запросы без него не закрепляются и могут не увидеть собственную
+ * запись, пока реплика отстает. Закрепление по адресу включается параметром
+ * {@code student.replicas.sticky-by-address} и годится только без общего прокси или NAT перед
+ * сервисом: иначе одна запись закрепит за основной базой всех клиентов за этим адресом.
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+  public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+  private static final Set<String> WRITE_METHODS = Set.of(
+      HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+  // POST без изменения данных: список идентификаторов передается в теле только из-за длины.
+  private static final Set<String> READ_ONLY_PATHS = Set.of("/student/get-many");
+
+  private final boolean enabled;
+  private final boolean stickyByAddress;
+  private final Cache<String, Boolean> recentWriters;
+
+  public ReadYourWritesInterceptor(StudentProperties properties) {
+    StudentProperties.Replicas settings = properties.getReplicas();
+    this.enabled = settings.isEnabled();
+    this.stickyByAddress = settings.isStickyByAddress();
+    this.recentWriters = Caffeine.newBuilder()
+        .expireAfterWrite(settings.getStickyWindow())
+        .build();
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!enabled) {
+      return true;
+    }
+
+    String client = clientKey(request);
+    if (client == null) {
+      return true;
+    }
+
+    // Отмечаем клиента до выполнения записи: следующий запрос может прийти раньше,
+    // чем завершится обработка текущего.
+    if (isWrite(request)) {
+      recentWriters.put(client, Boolean.TRUE);
+    }
+    if (recentWriters.getIfPresent(client) != null) {
+      ReplicaRoutingContext.requirePrimary();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    ReplicaRoutingContext.clear();
+  }
+
+  private static boolean isWrite(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return WRITE_METHODS.contains(request.getMethod()) && !READ_ONLY_PATHS.contains(path);
+  }
+
+  private String clientKey(HttpServletRequest request) {
+    String clientId = request.getHeader(CLIENT_ID_HEADER);
+    if (clientId != null && !clientId.isBlank()) {
+      return clientId;
+    }
+    return stickyByAddress ? request.getRemoteAddr() : null;
+  }
+}
@@ -0,0 +1,111 @@
+package ru.mai.lessons.rpks.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Источник соединений только для чтения: раздаёт соединения реплик по кругу, пропуская
+ * недоступные, и возвращается к основной базе, если здоровых реплик нет или клиенту нужны
+ * собственные недавние изменения.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Counter fallbackCounter;
+
+  public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = replicas.entrySet().stream()
+        .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+        .toList();
+    this.fallbackCounter = Counter.builder("student.replicas.fallbacks")
+        .description("Чтения, отправленные в основную базу из-за недоступности реплик")
+        .register(meterRegistry);
+    Gauge.builder("student.replicas.healthy", this, ReplicaDataSource::healthyCount)
+        .description("Количество доступных реплик")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!ReplicaRoutingContext.isPrimaryRequired() && !replicas.isEmpty()) {
+      int size = replicas.size();
+      int start = Math.floorMod(next.getAndIncrement(), size);
+      for (int i = 0; i < size; i++) {
+        Replica replica = replicas.get((start + i) % size);
+        if (!replica.healthy) {
+          continue;
+        }
+        try {
+          return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+          replica.healthy = false;
+          log.warn("Реплика {} недоступна: {}", replica.name, ex.getMessage());
+        }
+      }
+      fallbackCounter.increment();
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection();
+  }
+
+  @Scheduled(fixedDelayString = "${student.replicas.health-check-interval:5s}")
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      boolean healthy;
+      try (Connection connection = replica.dataSource.getConnection()) {
+        healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+      } catch (SQLException ex) {
+        healthy = false;
+      }
+      if (healthy != replica.healthy) {
+        log.info("Реплика {} {}", replica.name, healthy ? "снова доступна" : "недоступна");
+      }
+      replica.healthy = healthy;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private int healthyCount() {
+    return (int) replicas.stream().filter(replica -> replica.healthy).count();
+  }
+
+  private static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    private Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+  }
+}
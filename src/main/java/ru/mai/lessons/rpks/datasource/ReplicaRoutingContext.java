@@ -0,0 +1,26 @@
+package ru.mai.lessons.rpks.datasource;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Признак текущего потока, что чтения должны идти в основную базу, а не в реплику.
+ * Выставляется для клиента, недавно выполнившего запись, чтобы он видел собственные изменения
+ * независимо от отставания реплик.
+ */
+@UtilityClass
+public class ReplicaRoutingContext {
+
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+  public static void requirePrimary() {
+    PRIMARY_REQUIRED.set(Boolean.TRUE);
+  }
+
+  public static boolean isPrimaryRequired() {
+    return PRIMARY_REQUIRED.get() != null;
+  }
+
+  public static void clear() {
+    PRIMARY_REQUIRED.remove();
+  }
+}
@@ -3,7 +3,6 @@ package ru.mai.lessons.rpks.dto.mappers;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants.ComponentModel;
 import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
-import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
 import ru.mai.lessons.rpks.models.Student;
 
@@ -12,7 +11,5 @@ public interface StudentMapper {
 
   Student requestToModel(StudentCreateRequest request);
 
-  Student requestToModel(StudentUpdateRequest request);
-
   StudentResponse modelToResponse(Student student);
 }
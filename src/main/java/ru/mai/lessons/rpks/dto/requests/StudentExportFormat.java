@@ -0,0 +1,17 @@
+package ru.mai.lessons.rpks.dto.requests;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum StudentExportFormat {
+
+  NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+  CSV("text/csv", "csv"),
+  CBOR("application/cbor-seq", "cbor");
+
+  private final String mediaType;
+  private final String fileExtension;
+}
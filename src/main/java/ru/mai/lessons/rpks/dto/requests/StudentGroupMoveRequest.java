@@ -0,0 +1,50 @@
+package ru.mai.lessons.rpks.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentGroupMoveRequest",
+    description = "Запрос на перевод всех студентов группы в другую группу",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentGroupMoveRequest {
+
+  @Schema(
+      name = "fromGroupName",
+      description = "Текущая группа студентов",
+      type = "String",
+      maxLength = 30
+  )
+  @NotNull(message = "Текущая группа студентов не должна быть null")
+  @NotBlank(message = "Текущая группа студентов не должна быть пустой")
+  @Size(max = 30, message = "Текущая группа студентов не должна быть длиннее 30 символов")
+  private String fromGroupName;
+
+  @Schema(
+      name = "toGroupName",
+      description = "Новая группа студентов",
+      type = "String",
+      maxLength = 30
+  )
+  @NotNull(message = "Новая группа студентов не должна быть null")
+  @NotBlank(message = "Новая группа студентов не должна быть пустой")
+  @Size(max = 30, message = "Новая группа студентов не должна быть длиннее 30 символов")
+  private String toGroupName;
+}
@@ -0,0 +1,60 @@
+package ru.mai.lessons.rpks.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentPatchRequest",
+    description = "Запрос на частичное обновление информации о студенте",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentPatchRequest {
+
+  private static final String NOT_BLANK_REGEXP = ".*\\S.*";
+
+  @Schema(
+      name = "id",
+      description = "Идентификатор студента",
+      type = "Long"
+  )
+  @NotNull(message = "Идентификатор студента не должен быть null")
+  private Long id;
+
+  @Schema(
+      name = "fullName",
+      description = "Полное имя студента, null если не изменяется",
+      type = "String",
+      maxLength = 30,
+      nullable = true
+  )
+  @Pattern(regexp = NOT_BLANK_REGEXP, message = "Полное имя студента не должно быть пустым")
+  @Size(max = 30, message = "Полное имя студента не должно быть длиннее 30 символов")
+  private String fullName;
+
+  @Schema(
+      name = "groupName",
+      description = "Группа студента, null если не изменяется",
+      type = "String",
+      maxLength = 30,
+      nullable = true
+  )
+  @Pattern(regexp = NOT_BLANK_REGEXP, message = "Группа студента не должна быть пустой")
+  @Size(max = 30, message = "Группа студента не должна быть длиннее 30 символов")
+  private String groupName;
+}
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -41,6 +42,7 @@ public class StudentUpdateRequest {
   )
   @NotNull(message = "Полное имя студента не должно быть null")
   @NotBlank(message = "Полное имя студента не должно быть пустым")
+  @Size(max = 30, message = "Полное имя студента не должно быть длиннее 30 символов")
   private String fullName;
 
   @Schema(
@@ -51,5 +53,6 @@ public class StudentUpdateRequest {
   )
   @NotNull(message = "Группа студента не должна быть null")
   @NotBlank(message = "Группа студента не должна быть пустой")
+  @Size(max = 30, message = "Группа студента не должна быть длиннее 30 символов")
   private String groupName;
 }
@@ -0,0 +1,47 @@
+package ru.mai.lessons.rpks.dto.respones;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentBatchItemResponse",
+    description = "Результат обработки одного элемента пакетного запроса",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentBatchItemResponse {
+
+  @Schema(
+      name = "index",
+      description = "Порядковый номер элемента в запросе",
+      type = "Integer"
+  )
+  private Integer index;
+
+  @Schema(
+      name = "student",
+      description = "Информация о созданном студенте",
+      implementation = StudentResponse.class
+  )
+  private StudentResponse student;
+
+  @Schema(
+      name = "errors",
+      description = "Ошибки валидации элемента",
+      type = "array"
+  )
+  private List<String> errors;
+}
@@ -0,0 +1,32 @@
+package ru.mai.lessons.rpks.dto.respones;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentGroupMoveResponse",
+    description = "Ответ о переводе студентов группы в другую группу",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentGroupMoveResponse {
+
+  @Schema(
+      name = "movedCount",
+      description = "Количество переведенных студентов",
+      type = "Integer"
+  )
+  private Integer movedCount;
+}
@@ -0,0 +1,54 @@
+package ru.mai.lessons.rpks.dto.respones;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentLookupResponse",
+    description = "Результат поиска одного студента из запроса на получение нескольких студентов",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentLookupResponse {
+
+  @Schema(
+      name = "id",
+      description = "Запрошенный идентификатор студента",
+      type = "Long"
+  )
+  private Long id;
+
+  @Schema(
+      name = "found",
+      description = "Признак того, что студент с таким идентификатором существует",
+      type = "Boolean"
+  )
+  private Boolean found;
+
+  @Schema(
+      name = "student",
+      description = "Информация о студенте, null если студент не найден",
+      implementation = StudentResponse.class
+  )
+  private StudentResponse student;
+
+  public static StudentLookupResponse found(StudentResponse student) {
+    return new StudentLookupResponse(student.getId(), Boolean.TRUE, student);
+  }
+
+  public static StudentLookupResponse missing(Long id) {
+    return new StudentLookupResponse(id, Boolean.FALSE, null);
+  }
+}
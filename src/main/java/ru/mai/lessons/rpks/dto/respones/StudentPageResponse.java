@@ -0,0 +1,43 @@
+package ru.mai.lessons.rpks.dto.respones;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentPageResponse",
+    description = "Страница со списком студентов",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentPageResponse {
+
+  @ArraySchema(
+      arraySchema = @Schema(
+          name = "students",
+          description = "Студенты на странице, упорядоченные по идентификатору"
+      ),
+      schema = @Schema(implementation = StudentResponse.class)
+  )
+  private List<StudentResponse> students;
+
+  @Schema(
+      name = "nextAfterId",
+      description = "Идентификатор для запроса следующей страницы, null если страница последняя",
+      type = "Long"
+  )
+  private Long nextAfterId;
+}
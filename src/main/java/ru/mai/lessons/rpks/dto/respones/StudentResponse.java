@@ -45,4 +45,11 @@ public class StudentResponse {
       maxLength = 30
   )
   private String groupName;
+
+  @Schema(
+      name = "version",
+      description = "Версия информации о студенте, передается также в заголовке ETag",
+      type = "Long"
+  )
+  private Long version;
 }
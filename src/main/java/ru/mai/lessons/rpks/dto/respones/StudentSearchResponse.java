@@ -0,0 +1,39 @@
+package ru.mai.lessons.rpks.dto.respones;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AdditionalPropertiesValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "StudentSearchResponse",
+    description = "Студент, найденный по полному имени",
+    additionalProperties = AdditionalPropertiesValue.FALSE)
+public class StudentSearchResponse {
+
+  @Schema(
+      name = "score",
+      description = "Сходство полного имени студента с запросом от 0 до 1",
+      type = "Double"
+  )
+  private Double score;
+
+  @Schema(
+      name = "student",
+      description = "Информация о студенте",
+      implementation = StudentResponse.class
+  )
+  private StudentResponse student;
+}
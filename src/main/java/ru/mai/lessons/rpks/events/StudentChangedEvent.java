@@ -0,0 +1,49 @@
+package ru.mai.lessons.rpks.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+  private final Type type;
+
+  private final Long id;
+
+  private final StudentResponse student;
+
+  /**
+   * Новое полное имя студента или {@code null}, если оно не менялось или неизвестно.
+   */
+  private final String fullName;
+
+  public static StudentChangedEvent saved(StudentResponse student) {
+    return new StudentChangedEvent(Type.SAVED, student.getId(), student, student.getFullName());
+  }
+
+  public static StudentChangedEvent updated(StudentResponse student) {
+    return new StudentChangedEvent(Type.UPDATED, student.getId(), student, student.getFullName());
+  }
+
+  public static StudentChangedEvent updated(Long id) {
+    return new StudentChangedEvent(Type.UPDATED, id, null, null);
+  }
+
+  public static StudentChangedEvent renamed(Long id, String fullName) {
+    return new StudentChangedEvent(Type.UPDATED, id, null, fullName);
+  }
+
+  public static StudentChangedEvent deleted(Long id) {
+    return new StudentChangedEvent(Type.DELETED, id, null, null);
+  }
+
+  public enum Type {
+    SAVED,
+    UPDATED,
+    DELETED
+  }
+}
@@ -1,22 +1,143 @@
 package ru.mai.lessons.rpks.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.mai.lessons.rpks.metrics.StudentMetrics;
 
+@Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class ControllerExceptionHandler {
 
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private static final String ERROR_DELIMITER = "; ";
+
+  private static final String INTERNAL_ERROR = "Ошибка на стороне сервиса";
+
+  private final StudentMetrics metrics;
+
+  @ExceptionHandler(DatabaseOverloadedException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(DatabaseOverloadedException ex) {
+    return ResponseEntity
+        .status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+        .body(
+            ExceptionErrorMessage
+                .builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .error(ex.getMessage())
+                .build()
+        );
+  }
+
+  @ExceptionHandler(StudentException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(StudentException ex) {
+    if (ex instanceof StudentNotFoundException) {
+      metrics.recordNotFound();
+    } else if (ex instanceof StudentValidationException) {
+      metrics.recordValidationFailed();
+    }
+
+    return error(ex.getStatus(), ex.getMessage());
+  }
+
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(MethodArgumentNotValidException ex) {
+    metrics.recordValidationFailed();
+    return error(HttpStatus.BAD_REQUEST, ex.getBindingResult().getAllErrors().stream()
+        .map(MessageSourceResolvable::getDefaultMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(HandlerMethodValidationException ex) {
+    metrics.recordValidationFailed();
+    return error(HttpStatus.BAD_REQUEST, ex.getAllErrors().stream()
+        .map(MessageSourceResolvable::getDefaultMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(ConstraintViolationException ex) {
+    metrics.recordValidationFailed();
+    return error(HttpStatus.BAD_REQUEST, ex.getConstraintViolations().stream()
+        .map(ConstraintViolation::getMessage)
+        .collect(Collectors.joining(ERROR_DELIMITER)));
+  }
+
+  @ExceptionHandler({
+      MethodArgumentTypeMismatchException.class,
+      MissingServletRequestParameterException.class,
+      HttpMessageNotReadableException.class
+  })
+  protected ResponseEntity<ExceptionErrorMessage> handleBadRequest(Exception ex) {
+    metrics.recordValidationFailed();
+    return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(DataIntegrityViolationException ex) {
+    return handle(DataIntegrityViolations.translate(ex, DataIntegrityViolations.sqlState(ex)));
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  protected ResponseEntity<ExceptionErrorMessage> handle(OptimisticLockingFailureException ex) {
+    return handle(StudentConflictException.INSTANCE);
+  }
+
+  /**
+   * Стандартные исключения Spring MVC сохраняют свой код ответа, например 404, 405 или 415.
+   * Остальные ошибки означают сбой сервиса: клиент получает 500 без внутренних подробностей.
+   */
   @ExceptionHandler(Exception.class)
   protected ResponseEntity<ExceptionErrorMessage> handle(Exception ex) {
+    if (ex instanceof ErrorResponse errorResponse) {
+      HttpStatus status = HttpStatus.valueOf(errorResponse.getStatusCode().value());
+      ResponseEntity.BodyBuilder response = ResponseEntity.status(status).headers(errorResponse.getHeaders());
+      // Клиент не принимает JSON, поэтому тело ошибки ему не отправить.
+      if (ex instanceof HttpMediaTypeNotAcceptableException) {
+        return response.build();
+      }
+      return response.body(
+          ExceptionErrorMessage
+              .builder()
+              .status(status)
+              .error(errorResponse.getBody().getDetail())
+              .build()
+      );
+    }
+
+    log.error("Необработанная ошибка при выполнении запроса", ex);
+    return error(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR);
+  }
+
+  private ResponseEntity<ExceptionErrorMessage> error(HttpStatus status, String message) {
     return ResponseEntity
-        .unprocessableEntity()
+        .status(status)
         .body(
             ExceptionErrorMessage
                 .builder()
-                .status(HttpStatus.UNPROCESSABLE_ENTITY)
-                .error(ex.getMessage())
+                .status(status)
+                .error(message)
                 .build()
         );
   }
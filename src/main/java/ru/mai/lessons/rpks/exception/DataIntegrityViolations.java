@@ -0,0 +1,49 @@
+package ru.mai.lessons.rpks.exception;
+
+import java.sql.SQLException;
+import lombok.experimental.UtilityClass;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * Перевод нарушения ограничений базы данных в исход предметной области по коду SQLSTATE. Только
+ * нарушение уникальности означает одновременную запись и дает конфликт; превышение длины,
+ * пропущенное обязательное поле и прочие нарушения означают недопустимые данные запроса.
+ */
+@UtilityClass
+public class DataIntegrityViolations {
+
+  private static final String UNIQUE_VIOLATION = "23505";
+  private static final String NOT_NULL_VIOLATION = "23502";
+  private static final String FOREIGN_KEY_VIOLATION = "23503";
+  private static final String STRING_TOO_LONG = "22001";
+
+  public static StudentException translate(DataIntegrityViolationException ex, String sqlState) {
+    if (ex instanceof DuplicateKeyException || UNIQUE_VIOLATION.equals(sqlState)) {
+      return StudentConflictException.INSTANCE;
+    }
+
+    if (STRING_TOO_LONG.equals(sqlState)) {
+      return new StudentValidationException("Значение поля превышает допустимую длину");
+    }
+    if (NOT_NULL_VIOLATION.equals(sqlState)) {
+      return new StudentValidationException("Не заполнено обязательное поле");
+    }
+    if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+      return new StudentValidationException("Запрос ссылается на несуществующую запись");
+    }
+    return new StudentValidationException("Данные запроса нарушают ограничения базы данных");
+  }
+
+  /**
+   * Код SQLSTATE первого {@link SQLException} в цепочке причин или {@code null}, если его нет.
+   */
+  public static String sqlState(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+        return sqlException.getSQLState();
+      }
+    }
+    return null;
+  }
+}
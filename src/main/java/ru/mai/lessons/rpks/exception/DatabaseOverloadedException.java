@@ -0,0 +1,15 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DatabaseOverloadedException extends StudentException {
+
+  public DatabaseOverloadedException() {
+    super("Сервис перегружен, повторите запрос позже");
+  }
+
+  @Override
+  public HttpStatus getStatus() {
+    return HttpStatus.SERVICE_UNAVAILABLE;
+  }
+}
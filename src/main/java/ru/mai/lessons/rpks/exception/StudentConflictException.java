@@ -0,0 +1,21 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Версия информации о студенте не совпала с ожидаемой. Как и {@link StudentNotFoundException},
+ * не несет состояния запроса и используется в виде единственного экземпляра {@link #INSTANCE}.
+ */
+public final class StudentConflictException extends StudentException {
+
+  public static final StudentConflictException INSTANCE = new StudentConflictException();
+
+  private StudentConflictException() {
+    super("Информация о студенте была изменена другим запросом");
+  }
+
+  @Override
+  public HttpStatus getStatus() {
+    return HttpStatus.CONFLICT;
+  }
+}
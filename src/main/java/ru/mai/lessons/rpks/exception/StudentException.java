@@ -0,0 +1,16 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Базовое исключение предметной области. Исключения этой иерархии описывают ожидаемые исходы
+ * обработки запроса, поэтому не заполняют стек вызовов.
+ */
+public abstract class StudentException extends RuntimeException {
+
+  protected StudentException(String message) {
+    super(message, null, false, false);
+  }
+
+  public abstract HttpStatus getStatus();
+}
@@ -0,0 +1,18 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Ключ идемпотентности уже использован с другим телом запроса.
+ */
+public class StudentIdempotencyKeyException extends StudentException {
+
+  public StudentIdempotencyKeyException(String message) {
+    super(message);
+  }
+
+  @Override
+  public HttpStatus getStatus() {
+    return HttpStatus.UNPROCESSABLE_ENTITY;
+  }
+}
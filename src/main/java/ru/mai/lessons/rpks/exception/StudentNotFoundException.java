@@ -0,0 +1,21 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Студент не найден. Экземпляр не несёт состояния запроса, поэтому используется единственный
+ * заранее созданный объект {@link #INSTANCE}.
+ */
+public final class StudentNotFoundException extends StudentException {
+
+  public static final StudentNotFoundException INSTANCE = new StudentNotFoundException();
+
+  private StudentNotFoundException() {
+    super("Студент не найден");
+  }
+
+  @Override
+  public HttpStatus getStatus() {
+    return HttpStatus.NOT_FOUND;
+  }
+}
@@ -0,0 +1,15 @@
+package ru.mai.lessons.rpks.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class StudentValidationException extends StudentException {
+
+  public StudentValidationException(String message) {
+    super(message);
+  }
+
+  @Override
+  public HttpStatus getStatus() {
+    return HttpStatus.BAD_REQUEST;
+  }
+}
@@ -0,0 +1,107 @@
+package ru.mai.lessons.rpks.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.exception.DatabaseOverloadedException;
+
+@Component
+public class DatabaseConcurrencyLimiter {
+
+  private static final ThreadLocal<Boolean> PERMIT_HELD = new ThreadLocal<>();
+
+  @Getter
+  private final boolean enabled;
+  private final int maxQueue;
+  private final long maxWaitNanos;
+  private final Semaphore permits;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final Timer waitTimer;
+  private final Counter rejectedCounter;
+
+  public DatabaseConcurrencyLimiter(StudentProperties properties, MeterRegistry meterRegistry) {
+    StudentProperties.Limiter settings = properties.getLimiter();
+    this.enabled = settings.isEnabled();
+    this.maxQueue = settings.getMaxQueue();
+    this.maxWaitNanos = settings.getMaxWait().toNanos();
+    this.permits = new Semaphore(settings.getMaxConcurrent(), true);
+    this.waitTimer = Timer.builder("student.db.limiter.wait")
+        .description("Время ожидания доступа к базе данных")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("student.db.limiter.rejected")
+        .description("Количество запросов, отклоненных из-за перегрузки базы данных")
+        .register(meterRegistry);
+    Gauge.builder("student.db.limiter.waiting", waiting, AtomicInteger::get)
+        .description("Количество запросов в очереди на доступ к базе данных")
+        .register(meterRegistry);
+  }
+
+  public void acquire() {
+    if (waiting.incrementAndGet() > maxQueue) {
+      waiting.decrementAndGet();
+      rejectedCounter.increment();
+      throw new DatabaseOverloadedException();
+    }
+
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    } finally {
+      waiting.decrementAndGet();
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      rejectedCounter.increment();
+      throw new DatabaseOverloadedException();
+    }
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  /**
+   * Берет разрешение, если текущий поток его еще не держит: вложенные вызовы сервисов не должны
+   * занимать второе разрешение. Возвращает {@code true}, если разрешение взято и его нужно вернуть
+   * через {@link #releaseHeld()}.
+   */
+  public boolean acquireIfNotHeld() {
+    if (!enabled || PERMIT_HELD.get() != null) {
+      return false;
+    }
+
+    acquire();
+    PERMIT_HELD.set(Boolean.TRUE);
+    return true;
+  }
+
+  public void releaseHeld() {
+    PERMIT_HELD.remove();
+    release();
+  }
+
+  public <T> T call(Supplier<T> action) {
+    boolean acquired = acquireIfNotHeld();
+    try {
+      return action.get();
+    } finally {
+      if (acquired) {
+        releaseHeld();
+      }
+    }
+  }
+}
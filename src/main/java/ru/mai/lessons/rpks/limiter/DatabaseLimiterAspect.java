@@ -0,0 +1,43 @@
+package ru.mai.lessons.rpks.limiter;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ограничивает число одновременных обращений сервисов к базе данных. Разрешение берется на вызов
+ * {@link ru.mai.lessons.rpks.services.StudentService}, то есть на одну транзакцию: импорт получает
+ * его на каждую порцию, а не на чтение всего тела запроса. Чтение студентов по идентификаторам и
+ * поиск по имени берут разрешение сами и только на время запроса к базе данных, чтобы запросы,
+ * ожидающие общего результата или обслуженные кэшем, не занимали разрешения. Сервис
+ * идемпотентности тоже берет разрешение сам и не держит его, пока ждет чужой результат.
+ * Выгрузка читает таблицу одним курсором, скорость которого задает клиент, поэтому разрешение
+ * не занимает и ограничивается пулом соединений.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseLimiterAspect {
+
+  private final DatabaseConcurrencyLimiter limiter;
+
+  @Around("execution(public * ru.mai.lessons.rpks.services.StudentService.*(..)) "
+      + "&& !execution(* ru.mai.lessons.rpks.services.StudentService.getStudent(..)) "
+      + "&& !execution(* ru.mai.lessons.rpks.services.StudentService.getStudents(..)) "
+      + "&& !execution(* ru.mai.lessons.rpks.services.StudentService.searchStudents(..))")
+  public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+    boolean acquired = limiter.acquireIfNotHeld();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      if (acquired) {
+        limiter.releaseHeld();
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package ru.mai.lessons.rpks.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.mai.lessons.rpks.config.StudentProperties;
+
+@Component
+@RequiredArgsConstructor
+public class AccessLogInterceptor implements HandlerInterceptor {
+
+  private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ru.mai.lessons.rpks.access");
+  private static final String START_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".start";
+
+  private final StudentProperties properties;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (properties.getAccessLog().isEnabled() && ACCESS_LOG.isInfoEnabled()) {
+      request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+      return;
+    }
+
+    long durationNanos = System.nanoTime() - start;
+    int status = response.getStatus();
+    if (!isSampled(status, durationNanos, ex)) {
+      return;
+    }
+
+    ACCESS_LOG.atInfo()
+        .addKeyValue("method", request.getMethod())
+        .addKeyValue("uri", request.getRequestURI())
+        .addKeyValue("status", status)
+        .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+        .log();
+  }
+
+  private boolean isSampled(int status, long durationNanos, Exception ex) {
+    StudentProperties.AccessLog settings = properties.getAccessLog();
+
+    if (durationNanos >= settings.getSlowThreshold().toNanos()) {
+      return true;
+    }
+
+    double rate = ex != null || status >= HttpStatus.BAD_REQUEST.value()
+        ? settings.getErrorSampleRate()
+        : settings.getSampleRate();
+    return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+  }
+}
@@ -0,0 +1,21 @@
+package ru.mai.lessons.rpks.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccessLogMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "student.access.log.dropped",
+            CountingAsyncAppender.class,
+            appender -> CountingAsyncAppender.getDroppedCount()
+        )
+        .description("Количество записей журнала доступа, отброшенных из-за переполнения очереди")
+        .register(registry);
+  }
+}
@@ -0,0 +1,32 @@
+package ru.mai.lessons.rpks.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountingAsyncAppender extends AsyncAppender {
+
+  private static final LongAdder DROPPED_EVENTS = new LongAdder();
+
+  public static long getDroppedCount() {
+    return DROPPED_EVENTS.sum();
+  }
+
+  private final Object enqueueLock = new Object();
+
+  /**
+   * Проверка места и постановка в очередь выполняются под одной блокировкой: место в очереди
+   * освобождает только поток доставки, поэтому найденное место не может занять другой поток,
+   * и каждое событие либо попадает в очередь, либо учитывается как потерянное.
+   */
+  @Override
+  protected void append(ILoggingEvent event) {
+    synchronized (enqueueLock) {
+      if (getRemainingCapacity() == 0) {
+        DROPPED_EVENTS.increment();
+        return;
+      }
+      super.append(event);
+    }
+  }
+}
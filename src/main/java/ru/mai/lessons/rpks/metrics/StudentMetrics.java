@@ -0,0 +1,55 @@
+package ru.mai.lessons.rpks.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Счетчики ошибок и время преобразований {@code StudentMapper}. Преобразования замеряются в сервисе
+ * явно, а не аспектом: прокси над маппером замедлил бы каждую строку потоковой выгрузки.
+ */
+@Component
+public class StudentMetrics {
+
+  private static final String MAPPER_TIMER = "student.mapper";
+
+  private final Counter notFound;
+  private final Counter validationFailed;
+  private final Timer requestToModel;
+  private final Timer modelToResponse;
+
+  public StudentMetrics(MeterRegistry meterRegistry) {
+    this.notFound = Counter.builder("student.errors")
+        .tag("type", "not_found")
+        .description("Количество запросов к несуществующим студентам")
+        .register(meterRegistry);
+    this.validationFailed = Counter.builder("student.errors")
+        .tag("type", "validation")
+        .description("Количество запросов, не прошедших валидацию")
+        .register(meterRegistry);
+    this.requestToModel = Timer.builder(MAPPER_TIMER)
+        .tag("operation", "requestToModel")
+        .register(meterRegistry);
+    this.modelToResponse = Timer.builder(MAPPER_TIMER)
+        .tag("operation", "modelToResponse")
+        .register(meterRegistry);
+  }
+
+  public void recordNotFound() {
+    notFound.increment();
+  }
+
+  public void recordValidationFailed() {
+    validationFailed.increment();
+  }
+
+  public <T> T timeRequestToModel(Supplier<T> mapping) {
+    return requestToModel.record(mapping);
+  }
+
+  public <T> T timeModelToResponse(Supplier<T> mapping) {
+    return modelToResponse.record(mapping);
+  }
+}
@@ -0,0 +1,59 @@
+package ru.mai.lessons.rpks.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StudentMetricsAspect {
+
+  private static final String NONE = "none";
+
+  private final MeterRegistry meterRegistry;
+  // Таймер ищется по имени, операции и исключению: построение и регистрация на каждый вызов
+  // обходится дороже самого замера.
+  private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  @Around("execution(public * ru.mai.lessons.rpks.services.StudentService.*(..))")
+  public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time("student.service", joinPoint);
+  }
+
+  private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = NONE;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable ex) {
+      exception = ex.getClass().getSimpleName();
+      throw ex;
+    } finally {
+      sample.stop(timer(new TimerKey(name, joinPoint.getSignature().getName(), exception)));
+    }
+  }
+
+  private Timer timer(TimerKey key) {
+    Timer timer = timers.get(key);
+    if (timer == null) {
+      timer = timers.computeIfAbsent(key, k -> Timer.builder(k.name())
+          .tag("operation", k.operation())
+          .tag("exception", k.exception())
+          .register(meterRegistry));
+    }
+    return timer;
+  }
+
+  private record TimerKey(String name, String operation, String exception) {
+  }
+}
@@ -0,0 +1,37 @@
+package ru.mai.lessons.rpks.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "idempotency_key")
+public class IdempotencyKey {
+
+  @Id
+  @Column(name = "id", nullable = false, length = 100)
+  private String id;
+
+  @Column(name = "request_hash", nullable = false, length = 64)
+  private String requestHash;
+
+  @Column(name = "response", nullable = false, length = 1024)
+  private String response;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+}
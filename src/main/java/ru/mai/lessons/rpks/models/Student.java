@@ -5,6 +5,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -24,10 +26,9 @@ import lombok.ToString;
 public class Student {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+  @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
   @Column(name = "id", nullable = false, unique = true)
-//  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_id_seq")
-//  @SequenceGenerator(name = "student_id_seq", sequenceName = "student_id_seq", allocationSize = 1)
   private Long id;
 
   @Column(name = "full_name", nullable = false)
@@ -35,4 +36,8 @@ public class Student {
 
   @Column(name = "group_name", nullable = false)
   private String groupName;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
 }
@@ -0,0 +1,43 @@
+package ru.mai.lessons.rpks.repositories;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mai.lessons.rpks.models.IdempotencyKey;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+  /**
+   * Занимает ключ вставкой строки. Возвращает 0, если ключ уже занят: при незавершенной чужой вставке
+   * запрос ждет ее фиксации или отката, поэтому ключ занимает ровно одна транзакция.
+   */
+  @Modifying
+  @Query(
+      value = "INSERT INTO idempotency_key (id, request_hash, response, expires_at) "
+          + "VALUES (:id, :requestHash, :response, :expiresAt) ON CONFLICT DO NOTHING",
+      nativeQuery = true
+  )
+  int claim(
+      @Param("id") String id,
+      @Param("requestHash") String requestHash,
+      @Param("response") String response,
+      @Param("expiresAt") Instant expiresAt);
+
+  @Modifying
+  @Query("update idempotency_key k set k.response = :response where k.id = :id")
+  int updateResponse(@Param("id") String id, @Param("response") String response);
+
+  @Modifying
+  @Query("delete from idempotency_key k where k.id = :id and k.expiresAt < :now")
+  int deleteExpiredById(@Param("id") String id, @Param("now") Instant now);
+
+  @Modifying
+  @Transactional
+  @Query("delete from idempotency_key k where k.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -1,10 +1,84 @@
 package ru.mai.lessons.rpks.repositories;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
 import ru.mai.lessons.rpks.models.Student;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
+  // Собственная транзакция только для чтения: чтения сервиса идут без транзакции, а реплика
+  // выбирается по признаку read-only соединения, который выставляет только настоящая транзакция.
+  @Transactional(readOnly = true)
+  @Query("select new ru.mai.lessons.rpks.dto.respones.StudentResponse(s.id, s.fullName, s.groupName, s.version) "
+      + "from student s where s.id = :id")
+  Optional<StudentResponse> findResponseById(@Param("id") Long id);
+
+  @Transactional(readOnly = true)
+  @Query("select new ru.mai.lessons.rpks.dto.respones.StudentResponse(s.id, s.fullName, s.groupName, s.version) "
+      + "from student s where s.id in :ids")
+  List<StudentResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+  List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+  List<Student> findByGroupNameAndIdGreaterThanOrderByIdAsc(String groupName, Long afterId, Limit limit);
+
+  List<Student> findByFullNameStartingWithAndIdGreaterThanOrderByIdAsc(
+      String fullNamePrefix, Long afterId, Limit limit);
+
+  List<Student> findByGroupNameAndFullNameStartingWithAndIdGreaterThanOrderByIdAsc(
+      String groupName, String fullNamePrefix, Long afterId, Limit limit);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  @Query("select s from student s order by s.id")
+  Stream<Student> streamAll();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+  @Query("select s.id from student s")
+  Stream<Long> streamAllIds();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+  @Query("select new ru.mai.lessons.rpks.dto.respones.StudentResponse(s.id, s.fullName, s.groupName, s.version) "
+      + "from student s")
+  Stream<StudentResponse> streamAllResponses();
+
+  @Modifying
+  @Query("update student s set s.fullName = :fullName, s.version = s.version + 1 where s.id = :id")
+  int updateFullName(@Param("id") Long id, @Param("fullName") String fullName);
+
+  @Modifying
+  @Query("update student s set s.groupName = :groupName, s.version = s.version + 1 where s.id = :id")
+  int updateGroupName(@Param("id") Long id, @Param("groupName") String groupName);
+
+  @Modifying
+  @Query("update student s set s.fullName = :fullName, s.groupName = :groupName, s.version = s.version + 1 "
+      + "where s.id = :id")
+  int updateFullNameAndGroupName(
+      @Param("id") Long id, @Param("fullName") String fullName, @Param("groupName") String groupName);
+
+  @Modifying
+  @Query("update student s set s.fullName = :fullName, s.groupName = :groupName, s.version = s.version + 1 "
+      + "where s.id = :id and s.version = :version")
+  int updateFullNameAndGroupNameIfVersion(
+      @Param("id") Long id,
+      @Param("fullName") String fullName,
+      @Param("groupName") String groupName,
+      @Param("version") Long version);
 }
@@ -0,0 +1,16 @@
+package ru.mai.lessons.rpks.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+public interface StudentRepositoryCustom {
+
+  /**
+   * Удаляет студента и возвращает удаленную запись. Если передана версия, строка удаляется только
+   * при ее совпадении; иначе результат пуст, и блокировка строки не берется.
+   */
+  Optional<StudentResponse> deleteReturning(Long id, Long version);
+
+  List<Long> moveGroup(String fromGroupName, String toGroupName);
+}
@@ -0,0 +1,97 @@
+package ru.mai.lessons.rpks.repositories.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.repositories.StudentRepositoryCustom;
+
+@RequiredArgsConstructor
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+
+  private static final String DELETE_RETURNING_SQL =
+      "DELETE FROM student WHERE id = :id RETURNING id, full_name, group_name, version";
+  private static final String DELETE_VERSION_RETURNING_SQL =
+      "DELETE FROM student WHERE id = :id AND version = :version RETURNING id, full_name, group_name, version";
+  private static final String SELECT_SQL =
+      "SELECT id, full_name, group_name, version FROM student WHERE id = :id";
+  private static final String SELECT_VERSION_SQL =
+      "SELECT id, full_name, group_name, version FROM student WHERE id = :id AND version = :version";
+  private static final String DELETE_VERSION_SQL =
+      "DELETE FROM student WHERE id = :id AND version = :version";
+  private static final String MOVE_GROUP_RETURNING_SQL =
+      "UPDATE student SET group_name = :toGroupName, version = version + 1 WHERE group_name = :fromGroupName "
+          + "RETURNING id";
+  private static final String SELECT_GROUP_FOR_UPDATE_SQL =
+      "SELECT id FROM student WHERE group_name = :fromGroupName FOR UPDATE";
+  private static final String MOVE_GROUP_SQL =
+      "UPDATE student SET group_name = :toGroupName, version = version + 1 WHERE group_name = :fromGroupName";
+
+  private static final RowMapper<StudentResponse> STUDENT_ROW_MAPPER = (resultSet, rowNum) ->
+      new StudentResponse(
+          resultSet.getLong("id"),
+          resultSet.getString("full_name"),
+          resultSet.getString("group_name"),
+          resultSet.getLong("version")
+      );
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  private volatile Boolean returningSupported;
+
+  @Override
+  public Optional<StudentResponse> deleteReturning(Long id, Long version) {
+    Map<String, Object> params = version == null ? Map.of("id", id) : Map.of("id", id, "version", version);
+
+    if (isReturningSupported()) {
+      String sql = version == null ? DELETE_RETURNING_SQL : DELETE_VERSION_RETURNING_SQL;
+      return single(jdbcTemplate.query(sql, params, STUDENT_ROW_MAPPER));
+    }
+
+    String selectSql = version == null ? SELECT_SQL : SELECT_VERSION_SQL;
+    Optional<StudentResponse> student = single(jdbcTemplate.query(selectSql, params, STUDENT_ROW_MAPPER));
+    if (student.isEmpty()) {
+      return student;
+    }
+
+    StudentResponse deleted = student.get();
+    int count = jdbcTemplate.update(
+        DELETE_VERSION_SQL, Map.of("id", id, "version", deleted.getVersion()));
+    return count == 0 ? Optional.empty() : student;
+  }
+
+  @Override
+  public List<Long> moveGroup(String fromGroupName, String toGroupName) {
+    Map<String, Object> params = Map.of("fromGroupName", fromGroupName, "toGroupName", toGroupName);
+
+    if (isReturningSupported()) {
+      return jdbcTemplate.queryForList(MOVE_GROUP_RETURNING_SQL, params, Long.class);
+    }
+
+    List<Long> ids = jdbcTemplate.queryForList(SELECT_GROUP_FOR_UPDATE_SQL, params, Long.class);
+    if (!ids.isEmpty()) {
+      jdbcTemplate.update(MOVE_GROUP_SQL, params);
+    }
+    return ids;
+  }
+
+  private boolean isReturningSupported() {
+    Boolean supported = returningSupported;
+    if (supported == null) {
+      supported = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+          POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName()));
+      returningSupported = supported;
+    }
+    return Boolean.TRUE.equals(supported);
+  }
+
+  private static <T> Optional<T> single(List<T> rows) {
+    return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+  }
+}
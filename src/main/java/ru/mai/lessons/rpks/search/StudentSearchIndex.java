@@ -0,0 +1,203 @@
+package ru.mai.lessons.rpks.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.events.StudentChangedEvent.Type;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
+
+/**
+ * Нечеткий поиск студентов по полному имени: {@link TrigramIndex} над всеми студентами в памяти
+ * приложения. Индекс строится в фоновом потоке чтением таблицы после старта и поддерживается
+ * событиями после фиксации транзакций; пока он строится, результаты поиска могут быть неполными.
+ *
+ * <p>Изменения, пришедшие во время построения, новее прочитанного снимка таблицы, поэтому эти
+ * записи при чтении пропускаются. Изменения, сделанные в обход приложения или другими его
+ * экземплярами, индекс не видит: найденные идентификаторы всегда перечитываются через сервис.
+ */
+@Slf4j
+@Component
+public class StudentSearchIndex {
+
+  private final boolean enabled;
+  private final double minSimilarity;
+  private final int rebuildAttempts;
+  private final Duration rebuildRetryDelay;
+  private final StudentRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TrigramIndex index = new TrigramIndex();
+
+  private Set<Long> changedDuringBuild = new HashSet<>();
+
+  public StudentSearchIndex(
+      StudentProperties properties,
+      StudentRepository repository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry
+  ) {
+    StudentProperties.Search settings = properties.getSearch();
+    this.enabled = settings.isEnabled();
+    this.minSimilarity = settings.getMinSimilarity();
+    this.rebuildAttempts = settings.getRebuildAttempts();
+    this.rebuildRetryDelay = settings.getRebuildRetryDelay();
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    Gauge.builder("student.search.index.size", this, StudentSearchIndex::size)
+        .description("Количество студентов в индексе поиска по имени")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Строит индекс в фоновом потоке, чтобы чтение всей таблицы не задерживало запуск приложения
+   * и его ошибка не останавливала запуск.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void startRebuild() {
+    if (!enabled) {
+      return;
+    }
+
+    Thread builder = new Thread(this::rebuildWithRetries, "student-search-index");
+    builder.setDaemon(true);
+    builder.start();
+  }
+
+  void rebuildWithRetries() {
+    for (int attempt = 1; attempt <= rebuildAttempts; attempt++) {
+      try {
+        rebuild();
+        return;
+      } catch (RuntimeException ex) {
+        log.warn("Не удалось построить индекс поиска студентов по имени: попытка {} из {}",
+            attempt, rebuildAttempts, ex);
+      }
+
+      if (attempt < rebuildAttempts) {
+        try {
+          Thread.sleep(rebuildRetryDelay.toMillis());
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+
+    // Индекс остается неполным, но продолжает следовать событиям; накапливать измененные
+    // идентификаторы для снимка, который уже не будет прочитан, не нужно.
+    lock.writeLock().lock();
+    try {
+      changedDuringBuild = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.error("Индекс поиска студентов по имени не построен, результаты поиска будут неполными");
+  }
+
+  /**
+   * Читает снимок таблицы в индекс. При ошибке изменения, пришедшие во время чтения, продолжают
+   * учитываться, и повторное построение сохраняет их приоритет.
+   */
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+
+    AtomicLong count = new AtomicLong();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<StudentResponse> students = repository.streamAllResponses()) {
+        students.forEach(student -> {
+          add(student);
+          count.incrementAndGet();
+        });
+      }
+    });
+
+    lock.writeLock().lock();
+    try {
+      changedDuringBuild = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Индекс поиска студентов по имени построен: {} записей", count.get());
+  }
+
+  public List<Match> search(String query, int limit) {
+    if (!enabled) {
+      return List.of();
+    }
+
+    lock.readLock().lock();
+    try {
+      return index.search(query, limit, minSimilarity);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return index.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || event.getId() == null) {
+      return;
+    }
+
+    // Событие без имени означает, что имя не менялось, например при переводе в другую группу.
+    if (event.getType() != Type.DELETED && event.getFullName() == null) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (changedDuringBuild != null) {
+        changedDuringBuild.add(event.getId());
+      }
+
+      if (event.getType() == Type.DELETED) {
+        index.remove(event.getId());
+      } else {
+        index.put(event.getId(), event.getFullName());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void add(StudentResponse student) {
+    lock.writeLock().lock();
+    try {
+      if (changedDuringBuild == null || !changedDuringBuild.contains(student.getId())) {
+        index.put(student.getId(), student.getFullName());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
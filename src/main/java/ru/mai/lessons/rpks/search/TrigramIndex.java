@@ -0,0 +1,481 @@
+package ru.mai.lessons.rpks.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Инвертированный индекс триграмм полных имен. Каждое слово имени дополняется пробелами, как в
+ * pg_trgm: «  иванов » дает триграммы «  и», « ив», «ива», ..., «ов ». Перед разбиением имя
+ * приводится к нижнему регистру, «ё» заменяется на «е», а все, кроме букв и цифр, считается
+ * разделителем слов.
+ *
+ * <p>Записи получают слоты по возрастанию, поэтому списки слотов каждой триграммы отсортированы.
+ * Поиск требует, чтобы в имени нашлась заданная доля триграмм запроса: такое имя обязано попасть
+ * хотя бы в один из самых коротких списков, поэтому кандидаты собираются слиянием только этих
+ * списков, а по остальным кандидаты проверяются продвижением курсоров.
+ *
+ * <p>Кандидаты ранжируются, как word_similarity в pg_trgm: по коэффициенту Дайса между запросом и
+ * наиболее похожим фрагментом имени из стольких же подряд идущих слов, сколько слов в запросе.
+ * Иначе опечатка в фамилии тонет в триграммах имени и отчества, и «Ивонов» проигрывает коротким
+ * именам с парой случайно совпавших триграмм. При равном сходстве выше имя, которое ближе к запросу
+ * целиком. Кандидат, который уже не может обойти худший из найденных, не проверяется. Для запросов
+ * только из частых триграмм число кандидатов ограничено, и результат приблизителен.
+ *
+ * <p>Удаленные записи только помечаются; когда их становится больше половины, слоты уплотняются.
+ * Класс не потокобезопасен.
+ */
+public class TrigramIndex {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MIN_DELETED_TO_COMPACT = 1024;
+  private static final int DEAD = 0;
+  private static final int MAX_CANDIDATE_POSTINGS = 4096;
+
+  private static final Comparator<Ranked> WORST_FIRST = Comparator
+      .comparingDouble(Ranked::score)
+      .thenComparingDouble(Ranked::fullNameScore)
+      .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+  private final Map<Long, Postings> postings = new HashMap<>();
+  private final Map<Long, Integer> slotsById = new HashMap<>();
+
+  private long[] ids = new long[INITIAL_CAPACITY];
+  private int[] trigramCounts = new int[INITIAL_CAPACITY];
+  private long[][][] wordTrigrams = new long[INITIAL_CAPACITY][][];
+  private int slots;
+  private int deleted;
+
+  public void put(long id, String fullName) {
+    remove(id);
+
+    long[][] words = wordTrigrams(fullName);
+    if (words.length == 0) {
+      return;
+    }
+
+    if (slots == ids.length) {
+      ids = Arrays.copyOf(ids, slots * 2);
+      trigramCounts = Arrays.copyOf(trigramCounts, slots * 2);
+      wordTrigrams = Arrays.copyOf(wordTrigrams, slots * 2);
+    }
+
+    long[] trigrams = union(words, 0, words.length);
+    int slot = slots++;
+    ids[slot] = id;
+    trigramCounts[slot] = trigrams.length;
+    wordTrigrams[slot] = words;
+    for (long trigram : trigrams) {
+      postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+    }
+    slotsById.put(id, slot);
+  }
+
+  public void remove(long id) {
+    Integer slot = slotsById.remove(id);
+    if (slot == null) {
+      return;
+    }
+
+    trigramCounts[slot] = DEAD;
+    wordTrigrams[slot] = null;
+    deleted++;
+    if (deleted >= MIN_DELETED_TO_COMPACT && deleted * 2 > slots) {
+      compact();
+    }
+  }
+
+  public int size() {
+    return slotsById.size();
+  }
+
+  /**
+   * Возвращает не более {@code limit} записей, содержащих не меньше {@code minSimilarity} триграмм
+   * запроса, по убыванию сходства с наиболее похожими словами имени.
+   */
+  public List<Match> search(String query, int limit, double minSimilarity) {
+    long[][] queryWords = wordTrigrams(query);
+    if (queryWords.length == 0 || limit <= 0) {
+      return List.of();
+    }
+
+    long[] trigrams = union(queryWords, 0, queryWords.length);
+
+    int required = Math.max(1, (int) Math.ceil(minSimilarity * trigrams.length));
+    Postings[] lists = new Postings[trigrams.length];
+    int present = 0;
+    for (long trigram : trigrams) {
+      Postings list = postings.get(trigram);
+      if (list != null) {
+        lists[present++] = list;
+      }
+    }
+    if (present < required) {
+      return List.of();
+    }
+
+    lists = Arrays.copyOf(lists, present);
+    Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+
+    // Точный отбор требует слияния present - required + 1 самых коротких списков, но частые
+    // триграммы вроде «ов » есть почти у всех записей. Поэтому сливаются списки, пока их суммарная
+    // длина укладывается в бюджет, а остальные только проверяются. Если даже самый короткий
+    // список не укладывается, кандидатами становятся его первые записи и результат приблизителен.
+    int probed = 1;
+    int merged = lists[0].size();
+    while (probed < present - required + 1 && merged + lists[probed].size() <= MAX_CANDIDATE_POSTINGS) {
+      merged += lists[probed++].size();
+    }
+
+    PriorityQueue<Ranked> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+    int[] cursors = new int[present];
+    Merger merger = new Merger(lists, probed, MAX_CANDIDATE_POSTINGS);
+    while (merger.next()) {
+      int slot = merger.slot();
+      int slotTrigrams = trigramCounts[slot];
+      if (slotTrigrams == DEAD) {
+        continue;
+      }
+
+      // Фрагмент имени не содержит больше общих триграмм, чем имя целиком, и не короче самого
+      // короткого слова, поэтому оценка по ним ограничивает сходство сверху.
+      int shortestWord = shortest(wordTrigrams[slot]);
+      int common = merger.count();
+      for (int i = probed; i < present; i++) {
+        int possible = common + present - i;
+        if (possible < required
+            || top.size() == limit && dice(possible, trigrams.length, shortestWord) < top.peek().score()) {
+          common = -1;
+          break;
+        }
+
+        cursors[i] = lists[i].advance(cursors[i], slot);
+        if (cursors[i] < lists[i].size() && lists[i].get(cursors[i]) == slot) {
+          common++;
+        }
+      }
+      if (common < required) {
+        continue;
+      }
+
+      Ranked ranked = new Ranked(ids[slot], similarity(trigrams, queryWords.length, wordTrigrams[slot]),
+          dice(common, trigrams.length, slotTrigrams));
+      if (top.size() < limit) {
+        top.add(ranked);
+      } else if (WORST_FIRST.compare(ranked, top.peek()) > 0) {
+        top.poll();
+        top.add(ranked);
+      }
+    }
+
+    List<Ranked> ranked = new ArrayList<>(top);
+    ranked.sort(WORST_FIRST.reversed());
+    return ranked.stream().map(match -> new Match(match.id(), match.score())).toList();
+  }
+
+  /**
+   * Наибольший коэффициент Дайса между запросом и фрагментами имени из {@code queryWords} подряд
+   * идущих слов; если слов в имени меньше, фрагментом служит все имя.
+   */
+  private static double similarity(long[] query, int queryWords, long[][] words) {
+    int window = Math.min(queryWords, words.length);
+    double best = 0;
+    for (int from = 0; from + window <= words.length; from++) {
+      long[] extent = window == 1 ? words[from] : union(words, from, window);
+      best = Math.max(best, dice(common(query, extent), query.length, extent.length));
+    }
+    return best;
+  }
+
+  private static int shortest(long[][] words) {
+    int shortest = Integer.MAX_VALUE;
+    for (long[] word : words) {
+      shortest = Math.min(shortest, word.length);
+    }
+    return shortest;
+  }
+
+  private static int common(long[] first, long[] second) {
+    int common = 0;
+    for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+      if (first[i] < second[j]) {
+        i++;
+      } else if (first[i] > second[j]) {
+        j++;
+      } else {
+        common++;
+        i++;
+        j++;
+      }
+    }
+    return common;
+  }
+
+  private static double dice(int common, int queryTrigrams, int slotTrigrams) {
+    return 2.0 * common / (queryTrigrams + slotTrigrams);
+  }
+
+  static String normalize(String value) {
+    StringBuilder normalized = new StringBuilder(value.length());
+    boolean separator = true;
+
+    for (int i = 0; i < value.length(); i++) {
+      char c = Character.toLowerCase(value.charAt(i));
+      if (c == 'ё') {
+        c = 'е';
+      }
+
+      if (Character.isLetterOrDigit(c)) {
+        normalized.append(c);
+        separator = false;
+      } else if (!separator) {
+        normalized.append(' ');
+        separator = true;
+      }
+    }
+
+    int length = normalized.length();
+    return separator && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+  }
+
+  /**
+   * Триграммы каждого слова отдельно: отсортированные и без повторов.
+   */
+  static long[][] wordTrigrams(String value) {
+    if (value == null) {
+      return new long[0][];
+    }
+
+    String normalized = normalize(value);
+    if (normalized.isEmpty()) {
+      return new long[0][];
+    }
+
+    String[] words = normalized.split(" ");
+    long[][] trigrams = new long[words.length][];
+    for (int w = 0; w < words.length; w++) {
+      String padded = "  " + words[w] + " ";
+      long[] word = new long[padded.length() - 2];
+      for (int i = 0; i + 3 <= padded.length(); i++) {
+        word[i] = pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+      }
+      trigrams[w] = unique(word, word.length);
+    }
+    return trigrams;
+  }
+
+  private static long[] union(long[][] words, int from, int count) {
+    int total = 0;
+    for (int w = from; w < from + count; w++) {
+      total += words[w].length;
+    }
+
+    long[] trigrams = new long[total];
+    int length = 0;
+    for (int w = from; w < from + count; w++) {
+      System.arraycopy(words[w], 0, trigrams, length, words[w].length);
+      length += words[w].length;
+    }
+    return unique(trigrams, length);
+  }
+
+  private static long[] unique(long[] trigrams, int count) {
+    Arrays.sort(trigrams, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; i++) {
+      if (unique == 0 || trigrams[unique - 1] != trigrams[i]) {
+        trigrams[unique++] = trigrams[i];
+      }
+    }
+    return unique == trigrams.length ? trigrams : Arrays.copyOf(trigrams, unique);
+  }
+
+  private static long pack(char first, char second, char third) {
+    return ((long) first << 32) | ((long) second << 16) | third;
+  }
+
+  private void compact() {
+    int[] remap = new int[slots];
+    int live = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      if (trigramCounts[slot] == DEAD) {
+        remap[slot] = -1;
+      } else {
+        remap[slot] = live;
+        ids[live] = ids[slot];
+        trigramCounts[live] = trigramCounts[slot];
+        wordTrigrams[live] = wordTrigrams[slot];
+        live++;
+      }
+    }
+
+    Iterator<Postings> iterator = postings.values().iterator();
+    while (iterator.hasNext()) {
+      Postings list = iterator.next();
+      list.remap(remap);
+      if (list.size() == 0) {
+        iterator.remove();
+      }
+    }
+    slotsById.replaceAll((id, slot) -> remap[slot]);
+
+    Arrays.fill(trigramCounts, live, slots, DEAD);
+    Arrays.fill(wordTrigrams, live, slots, null);
+    slots = live;
+    deleted = 0;
+  }
+
+  public record Match(long id, double score) {
+  }
+
+  private record Ranked(long id, double score, double fullNameScore) {
+  }
+
+  private static final class Postings {
+
+    private int[] slots = new int[4];
+    private int size;
+
+    void add(int slot) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+
+    int size() {
+      return size;
+    }
+
+    int get(int index) {
+      return slots[index];
+    }
+
+    /**
+     * Позиция первого слота не меньше заданного, начиная с {@code from}: экспоненциальный шаг,
+     * затем двоичный поиск, поскольку проверяемые слоты идут по возрастанию.
+     */
+    int advance(int from, int slot) {
+      int step = 1;
+      int high = from;
+      while (high < size && slots[high] < slot) {
+        from = high + 1;
+        high += step;
+        step <<= 1;
+      }
+
+      int index = Arrays.binarySearch(slots, from, Math.min(high + 1, size), slot);
+      return index >= 0 ? index : -index - 1;
+    }
+
+    void remap(int[] remap) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        int slot = remap[slots[i]];
+        if (slot >= 0) {
+          slots[kept++] = slot;
+        }
+      }
+      size = kept;
+    }
+  }
+
+  /**
+   * Слияние отсортированных списков слотов через двоичную кучу: выдает каждый слот один раз
+   * вместе с числом списков, в которых он встретился.
+   */
+  private static final class Merger {
+
+    private final Postings[] lists;
+    private final int limit;
+    private final int[] positions;
+    private final int[] heap;
+    private int heapSize;
+    private int slot;
+    private int count;
+
+    Merger(Postings[] lists, int length, int limit) {
+      this.lists = lists;
+      this.limit = limit;
+      this.positions = new int[length];
+      this.heap = new int[length];
+      for (int i = 0; i < length; i++) {
+        heap[heapSize++] = i;
+        siftUp(heapSize - 1);
+      }
+    }
+
+    boolean next() {
+      if (heapSize == 0) {
+        return false;
+      }
+
+      slot = head(heap[0]);
+      count = 0;
+      while (heapSize > 0 && head(heap[0]) == slot) {
+        int list = heap[0];
+        count++;
+        if (++positions[list] < Math.min(lists[list].size(), limit)) {
+          siftDown(0);
+        } else {
+          heap[0] = heap[--heapSize];
+          siftDown(0);
+        }
+      }
+      return true;
+    }
+
+    int slot() {
+      return slot;
+    }
+
+    int count() {
+      return count;
+    }
+
+    private int head(int list) {
+      return lists[list].get(positions[list]);
+    }
+
+    private void siftUp(int index) {
+      while (index > 0) {
+        int parent = (index - 1) / 2;
+        if (head(heap[parent]) <= head(heap[index])) {
+          return;
+        }
+        swap(parent, index);
+        index = parent;
+      }
+    }
+
+    private void siftDown(int index) {
+      while (true) {
+        int smallest = index;
+        int left = 2 * index + 1;
+        int right = left + 1;
+        if (left < heapSize && head(heap[left]) < head(heap[smallest])) {
+          smallest = left;
+        }
+        if (right < heapSize && head(heap[right]) < head(heap[smallest])) {
+          smallest = right;
+        }
+        if (smallest == index) {
+          return;
+        }
+        swap(smallest, index);
+        index = smallest;
+      }
+    }
+
+    private void swap(int first, int second) {
+      int value = heap[first];
+      heap[first] = heap[second];
+      heap[second] = value;
+    }
+  }
+}
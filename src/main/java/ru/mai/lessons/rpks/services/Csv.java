@@ -0,0 +1,26 @@
+package ru.mai.lessons.rpks.services;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Запись значений в CSV (RFC 4180), общая для сервлетной и реактивной выгрузки.
+ */
+@UtilityClass
+public class Csv {
+
+  /**
+   * Значение поля CSV: {@code null} становится пустым полем, а значение с запятой, кавычкой или
+   * переводом строки заключается в кавычки с удвоением внутренних кавычек.
+   */
+  public static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
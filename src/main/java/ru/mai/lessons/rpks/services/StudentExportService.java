@@ -0,0 +1,10 @@
+package ru.mai.lessons.rpks.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+
+public interface StudentExportService {
+
+  long exportStudents(StudentExportFormat format, OutputStream output) throws IOException;
+}
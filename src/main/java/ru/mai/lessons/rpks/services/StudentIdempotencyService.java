@@ -0,0 +1,9 @@
+package ru.mai.lessons.rpks.services;
+
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+
+public interface StudentIdempotencyService {
+
+  StudentResponse saveStudent(String idempotencyKey, StudentCreateRequest request);
+}
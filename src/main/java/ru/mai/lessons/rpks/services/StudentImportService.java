@@ -0,0 +1,10 @@
+package ru.mai.lessons.rpks.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface StudentImportService {
+
+  long importStudents(InputStream input, OutputStream output) throws IOException;
+}
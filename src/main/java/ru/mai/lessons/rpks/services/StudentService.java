@@ -1,16 +1,36 @@
 package ru.mai.lessons.rpks.services;
 
+import java.util.List;
 import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
 import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
 
 public interface StudentService {
 
   StudentResponse saveStudent(StudentCreateRequest request);
 
+  List<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests);
+
   StudentResponse getStudent(Long id);
 
-  StudentResponse updateStudent(StudentUpdateRequest request);
+  List<StudentLookupResponse> getStudents(List<Long> ids);
+
+  List<StudentSearchResponse> searchStudents(String query, int limit);
+
+  StudentPageResponse listStudents(Long afterId, int limit, String groupName, String fullNamePrefix);
+
+  StudentResponse updateStudent(StudentUpdateRequest request, Long expectedVersion);
+
+  void patchStudent(StudentPatchRequest request);
+
+  StudentGroupMoveResponse moveGroup(StudentGroupMoveRequest request);
 
-  StudentResponse deleteStudent(Long id);
+  StudentResponse deleteStudent(Long id, Long expectedVersion);
 }
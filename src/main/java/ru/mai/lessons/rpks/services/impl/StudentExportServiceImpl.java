@@ -0,0 +1,117 @@
+package ru.mai.lessons.rpks.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.models.Student;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.services.Csv;
+import ru.mai.lessons.rpks.services.StudentExportService;
+
+@Service
+@RequiredArgsConstructor
+public class StudentExportServiceImpl implements StudentExportService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String CSV_HEADER = "id,fullName,groupName";
+
+  private final StudentRepository repository;
+  private final StudentMapper mapper;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportStudents(StudentExportFormat format, OutputStream output) throws IOException {
+    if (format == StudentExportFormat.CBOR) {
+      return exportBinary(output);
+    }
+
+    ObjectWriter jsonWriter = objectMapper.writerFor(StudentResponse.class);
+    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+    if (format == StudentExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+
+    long exported = forEachStudent(response -> {
+      if (format == StudentExportFormat.CSV) {
+        writeCsv(writer, response);
+      } else {
+        writer.write(jsonWriter.writeValueAsString(response));
+      }
+      writer.write('\n');
+    });
+
+    writer.flush();
+    return exported;
+  }
+
+  /**
+   * Последовательность CBOR-значений без обрамляющего массива (RFC 8742): клиент может читать
+   * записи по одной, как и в NDJSON.
+   */
+  private long exportBinary(OutputStream output) throws IOException {
+    ObjectWriter cborWriter = objectMapper.copyWith(new CBORFactory())
+        .writerFor(StudentResponse.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    OutputStream buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+
+    long exported;
+    try (SequenceWriter sequence = cborWriter.writeValues(buffered)) {
+      exported = forEachStudent(sequence::write);
+    }
+
+    buffered.flush();
+    return exported;
+  }
+
+  private long forEachStudent(StudentWriter writer) throws IOException {
+    long exported = 0;
+    try (Stream<Student> students = repository.streamAll()) {
+      Iterator<Student> iterator = students.iterator();
+      while (iterator.hasNext()) {
+        Student student = iterator.next();
+        StudentResponse response = mapper.modelToResponse(student);
+        entityManager.detach(student);
+
+        writer.write(response);
+        exported++;
+      }
+    }
+    return exported;
+  }
+
+  private void writeCsv(Writer writer, StudentResponse response) throws IOException {
+    writer.write(String.valueOf(response.getId()));
+    writer.write(',');
+    writer.write(Csv.escape(response.getFullName()));
+    writer.write(',');
+    writer.write(Csv.escape(response.getGroupName()));
+  }
+
+  @FunctionalInterface
+  private interface StudentWriter {
+
+    void write(StudentResponse response) throws IOException;
+  }
+}
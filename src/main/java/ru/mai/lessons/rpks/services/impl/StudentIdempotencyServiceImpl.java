@@ -0,0 +1,232 @@
+package ru.mai.lessons.rpks.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentIdempotencyKeyException;
+import ru.mai.lessons.rpks.limiter.DatabaseConcurrencyLimiter;
+import ru.mai.lessons.rpks.models.IdempotencyKey;
+import ru.mai.lessons.rpks.repositories.IdempotencyKeyRepository;
+import ru.mai.lessons.rpks.services.StudentIdempotencyService;
+import ru.mai.lessons.rpks.services.StudentService;
+
+/**
+ * Выполняет создание студента не более одного раза на ключ идемпотентности.
+ *
+ * <p>Ключ занимается вставкой строки в таблицу {@code idempotency_key} до создания студента, а ответ
+ * записывается в ту же строку в той же транзакции. Одновременные запросы с одним ключом на разных
+ * экземплярах ждут фиксации первой вставки и получают сохраненный ответ; повтор после сбоя либо
+ * видит сохраненный ответ, либо выполняет запрос заново. Недавние ответы дополнительно держатся
+ * в памяти, а одновременные запросы с одним ключом внутри экземпляра ждут результата первого из них
+ * вместо повторного выполнения.
+ */
+@Slf4j
+@Service
+public class StudentIdempotencyServiceImpl implements StudentIdempotencyService {
+
+  private static final String CACHE_NAME = "idempotency";
+  private static final String HASH_ALGORITHM = "SHA-256";
+  // Ответ записывается в той же транзакции, что и занятие ключа, поэтому заглушку никто не видит.
+  private static final String PENDING_RESPONSE = "";
+
+  private final StudentService studentService;
+  private final IdempotencyKeyRepository repository;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final DatabaseConcurrencyLimiter limiter;
+  private final Clock clock;
+  private final Duration ttl;
+  private final Duration waitTimeout;
+  private final Cache<String, StoredResponse> hotTier;
+  private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+  private final Counter replayCounter;
+
+  public StudentIdempotencyServiceImpl(
+      StudentService studentService,
+      IdempotencyKeyRepository repository,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      DatabaseConcurrencyLimiter limiter,
+      StudentProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    StudentProperties.Idempotency settings = properties.getIdempotency();
+    this.studentService = studentService;
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.limiter = limiter;
+    this.clock = Clock.systemUTC();
+    this.ttl = settings.getTtl();
+    this.waitTimeout = settings.getWaitTimeout();
+    this.hotTier = Caffeine.newBuilder()
+        .maximumSize(settings.getMaximumSize())
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, hotTier, CACHE_NAME);
+    this.replayCounter = Counter.builder("student.idempotency.replays")
+        .description("Количество повторных запросов, получивших сохраненный ответ")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public StudentResponse saveStudent(String idempotencyKey, StudentCreateRequest request) {
+    String requestHash = hash(request);
+
+    StoredResponse stored = hotTier.getIfPresent(idempotencyKey);
+    if (stored != null) {
+      return replay(stored, requestHash);
+    }
+
+    InFlight own = new InFlight(requestHash, new CompletableFuture<>());
+    InFlight running = inFlight.putIfAbsent(idempotencyKey, own);
+    if (running != null) {
+      return await(running, requestHash);
+    }
+
+    try {
+      StudentResponse response = limiter.call(() -> executeOnce(idempotencyKey, requestHash, request));
+      own.result().complete(response);
+      return response;
+    } catch (RuntimeException ex) {
+      own.result().completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(idempotencyKey, own);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${student.idempotency.purge-interval:10m}")
+  public void purgeExpired() {
+    int purged = repository.deleteExpired(clock.instant());
+    if (purged > 0) {
+      log.debug("Удалены просроченные ключи идемпотентности: count={}", purged);
+    }
+  }
+
+  private StudentResponse executeOnce(String idempotencyKey, String requestHash, StudentCreateRequest request) {
+    Instant now = clock.instant();
+    StoredResponse stored = repository.findById(idempotencyKey)
+        .filter(key -> key.getExpiresAt().isAfter(now))
+        .map(this::toStoredResponse)
+        .orElse(null);
+    if (stored != null) {
+      hotTier.put(idempotencyKey, stored);
+      return replay(stored, requestHash);
+    }
+
+    Instant expiresAt = now.plus(ttl);
+    Optional<StudentResponse> created = transactionTemplate.execute(status -> {
+      repository.deleteExpiredById(idempotencyKey, now);
+      if (repository.claim(idempotencyKey, requestHash, PENDING_RESPONSE, expiresAt) == 0) {
+        return Optional.empty();
+      }
+
+      StudentResponse saved = studentService.saveStudent(request);
+      repository.updateResponse(idempotencyKey, toJson(saved));
+      return Optional.of(saved);
+    });
+
+    if (created != null && created.isPresent()) {
+      StudentResponse response = created.get();
+      hotTier.put(idempotencyKey, new StoredResponse(requestHash, response));
+      return response;
+    }
+
+    StoredResponse winner = repository.findById(idempotencyKey)
+        .map(this::toStoredResponse)
+        .orElseThrow(() -> StudentConflictException.INSTANCE);
+    hotTier.put(idempotencyKey, winner);
+    return replay(winner, requestHash);
+  }
+
+  private StudentResponse await(InFlight running, String requestHash) {
+    checkHash(running.requestHash(), requestHash);
+    try {
+      StudentResponse response = running.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      replayCounter.increment();
+      return response;
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      throw StudentConflictException.INSTANCE;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw StudentConflictException.INSTANCE;
+    }
+  }
+
+  private StudentResponse replay(StoredResponse stored, String requestHash) {
+    checkHash(stored.requestHash(), requestHash);
+    replayCounter.increment();
+    return stored.response();
+  }
+
+  private static void checkHash(String storedHash, String requestHash) {
+    if (!storedHash.equals(requestHash)) {
+      throw new StudentIdempotencyKeyException("Ключ идемпотентности уже использован с другим запросом");
+    }
+  }
+
+  private String hash(StudentCreateRequest request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+    } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private String toJson(StudentResponse response) {
+    try {
+      return objectMapper.writeValueAsString(response);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private StoredResponse toStoredResponse(IdempotencyKey key) {
+    try {
+      return new StoredResponse(
+          key.getRequestHash(), objectMapper.readValue(key.getResponse(), StudentResponse.class));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private record StoredResponse(String requestHash, StudentResponse response) {
+  }
+
+  private record InFlight(String requestHash, CompletableFuture<StudentResponse> result) {
+  }
+}
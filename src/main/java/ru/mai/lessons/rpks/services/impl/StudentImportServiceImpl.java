@@ -0,0 +1,157 @@
+package ru.mai.lessons.rpks.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.services.StudentImportService;
+import ru.mai.lessons.rpks.services.StudentService;
+
+@Service
+@RequiredArgsConstructor
+public class StudentImportServiceImpl implements StudentImportService {
+
+  private static final byte LINE_SEPARATOR = '\n';
+  // Запись о студенте занимает меньше сотни символов; запас нужен для пробелов и лишних полей.
+  private static final int MAX_LINE_LENGTH = 4096;
+
+  private final StudentService studentService;
+  private final ObjectMapper objectMapper;
+  private final StudentProperties properties;
+
+  @Override
+  public long importStudents(InputStream input, OutputStream output) throws IOException {
+    ObjectReader reader = objectMapper.readerFor(StudentCreateRequest.class);
+    ObjectWriter writer = objectMapper.writerFor(StudentBatchItemResponse.class);
+    int chunkSize = properties.getBatch().getChunkSize();
+
+    List<StudentBatchItemResponse> chunkItems = new ArrayList<>(chunkSize);
+    List<StudentBatchItemResponse> parsedItems = new ArrayList<>(chunkSize);
+    List<StudentCreateRequest> parsedRequests = new ArrayList<>(chunkSize);
+    long processed = 0;
+
+    LineReader lines = new LineReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    int index = 0;
+    while (lines.next()) {
+      int lineIndex = index++;
+      if (!lines.isTooLong() && lines.line().isBlank()) {
+        continue;
+      }
+
+      StudentBatchItemResponse item = StudentBatchItemResponse.builder().index(lineIndex).build();
+      chunkItems.add(item);
+      if (lines.isTooLong()) {
+        item.setErrors(List.of("Запись о студенте длиннее " + MAX_LINE_LENGTH + " символов"));
+      } else {
+        try {
+          parsedRequests.add(reader.readValue(lines.line()));
+          parsedItems.add(item);
+        } catch (JsonProcessingException ex) {
+          item.setErrors(List.of("Некорректный формат записи о студенте"));
+        }
+      }
+
+      if (chunkItems.size() >= chunkSize) {
+        processed += importChunk(chunkItems, parsedItems, parsedRequests, writer, output);
+      }
+    }
+
+    if (!chunkItems.isEmpty()) {
+      processed += importChunk(chunkItems, parsedItems, parsedRequests, writer, output);
+    }
+
+    return processed;
+  }
+
+  private int importChunk(
+      List<StudentBatchItemResponse> chunkItems,
+      List<StudentBatchItemResponse> parsedItems,
+      List<StudentCreateRequest> parsedRequests,
+      ObjectWriter writer,
+      OutputStream output) throws IOException {
+    if (!parsedRequests.isEmpty()) {
+      List<StudentBatchItemResponse> results = studentService.saveStudents(parsedRequests);
+      for (int i = 0; i < results.size(); i++) {
+        parsedItems.get(i).setStudent(results.get(i).getStudent());
+        parsedItems.get(i).setErrors(results.get(i).getErrors());
+      }
+    }
+
+    for (StudentBatchItemResponse item : chunkItems) {
+      output.write(writer.writeValueAsBytes(item));
+      output.write(LINE_SEPARATOR);
+    }
+    output.flush();
+
+    int size = chunkItems.size();
+    chunkItems.clear();
+    parsedItems.clear();
+    parsedRequests.clear();
+    return size;
+  }
+
+  /**
+   * Построчное чтение с ограничением длины строки. {@link BufferedReader#readLine()} держит в памяти
+   * строку целиком, поэтому одна запись без перевода строки заняла бы память под весь файл; здесь
+   * символы сверх предела отбрасываются до следующего перевода строки.
+   */
+  private static final class LineReader {
+
+    private final Reader reader;
+    private final StringBuilder line = new StringBuilder();
+    private boolean tooLong;
+
+    private LineReader(Reader reader) {
+      this.reader = reader;
+    }
+
+    boolean next() throws IOException {
+      line.setLength(0);
+      tooLong = false;
+
+      int c = reader.read();
+      if (c == -1) {
+        return false;
+      }
+
+      // Один символ сверх предела оставляет место для '\r' перед '\n'.
+      while (c != -1 && c != LINE_SEPARATOR) {
+        if (line.length() <= MAX_LINE_LENGTH) {
+          line.append((char) c);
+        } else {
+          tooLong = true;
+        }
+        c = reader.read();
+      }
+
+      int length = line.length();
+      if (length > 0 && line.charAt(length - 1) == '\r') {
+        line.setLength(length - 1);
+      }
+      tooLong |= line.length() > MAX_LINE_LENGTH;
+      return true;
+    }
+
+    boolean isTooLong() {
+      return tooLong;
+    }
+
+    String line() {
+      return line.toString();
+    }
+  }
+}
@@ -1,15 +1,46 @@
 package ru.mai.lessons.rpks.services.impl;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.webjars.NotFoundException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mai.lessons.rpks.cache.RequestCoalescer;
+import ru.mai.lessons.rpks.cache.StudentCache;
+import ru.mai.lessons.rpks.cache.StudentIdFilter;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.datasource.ReplicaRoutingContext;
 import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
 import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
 import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentException;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+import ru.mai.lessons.rpks.limiter.DatabaseConcurrencyLimiter;
+import ru.mai.lessons.rpks.metrics.StudentMetrics;
 import ru.mai.lessons.rpks.models.Student;
 import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.search.StudentSearchIndex;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
 import ru.mai.lessons.rpks.services.StudentService;
 
 @Service
@@ -19,41 +50,320 @@ public class StudentServiceImpl implements StudentService {
 
   private final StudentRepository repository;
   private final StudentMapper mapper;
+  private final Validator validator;
+  private final EntityManager entityManager;
+  private final StudentProperties properties;
+  private final StudentCache cache;
+  private final StudentIdFilter idFilter;
+  private final RequestCoalescer<Long, StudentResponse> readCoalescer;
+  private final DatabaseConcurrencyLimiter limiter;
+  private final StudentSearchIndex searchIndex;
+  private final StudentMetrics metrics;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public StudentResponse saveStudent(StudentCreateRequest request) {
-    Student student = mapper.requestToModel(request);
+    Student student = metrics.timeRequestToModel(() -> mapper.requestToModel(request));
     Student savedStudent = repository.saveAndFlush(student);
-    return mapper.modelToResponse(savedStudent);
+    StudentResponse response = metrics.timeModelToResponse(() -> mapper.modelToResponse(savedStudent));
+    eventPublisher.publishEvent(StudentChangedEvent.saved(response));
+    return response;
   }
 
   @Override
+  public List<StudentBatchItemResponse> saveStudents(List<StudentCreateRequest> requests) {
+    int chunkSize = properties.getBatch().getChunkSize();
+    List<StudentBatchItemResponse> responses = new ArrayList<>(requests.size());
+    List<StudentBatchItemResponse> chunkItems = new ArrayList<>(chunkSize);
+    List<Student> chunk = new ArrayList<>(chunkSize);
+
+    for (int index = 0; index < requests.size(); index++) {
+      StudentCreateRequest request = requests.get(index);
+      StudentBatchItemResponse item = StudentBatchItemResponse.builder().index(index).build();
+      responses.add(item);
+
+      List<String> errors = validate(request);
+      if (!errors.isEmpty()) {
+        metrics.recordValidationFailed();
+        item.setErrors(errors);
+        continue;
+      }
+
+      chunkItems.add(item);
+      chunk.add(metrics.timeRequestToModel(() -> mapper.requestToModel(request)));
+      if (chunk.size() >= chunkSize) {
+        saveChunk(chunk, chunkItems);
+      }
+    }
+
+    if (!chunk.isEmpty()) {
+      saveChunk(chunk, chunkItems);
+    }
+
+    return responses;
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public StudentResponse getStudent(Long id) {
-    Student student = repository.findById(id).orElse(null);
+    if (idFilter.isDefinitelyAbsent(id)) {
+      throw StudentNotFoundException.INSTANCE;
+    }
+
+    // Клиенту, недавно выполнившему запись, нужна строка из основной базы: кэш и общая загрузка
+    // могли получить ее с отстающей реплики.
+    if (ReplicaRoutingContext.isPrimaryRequired()) {
+      return limiter.call(() -> loadStudent(id));
+    }
+
+    StudentResponse cached = cache.get(id);
+    if (cached != null) {
+      return cached;
+    }
+
+    return readCoalescer.execute(id, () -> limiter.call(() -> loadStudent(id)));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<StudentLookupResponse> getStudents(List<Long> ids) {
+    Map<Long, StudentResponse> found = new HashMap<>();
+    List<Long> misses = new ArrayList<>();
+    boolean primaryRequired = ReplicaRoutingContext.isPrimaryRequired();
+
+    for (Long id : new LinkedHashSet<>(ids)) {
+      if (idFilter.isDefinitelyAbsent(id)) {
+        continue;
+      }
+
+      StudentResponse cached = primaryRequired ? null : cache.get(id);
+      if (cached != null) {
+        found.put(id, cached);
+      } else {
+        misses.add(id);
+      }
+    }
 
-    if (student != null) {
-      return mapper.modelToResponse(student);
+    int chunkSize = properties.getLookup().getChunkSize();
+    for (int from = 0; from < misses.size(); from += chunkSize) {
+      List<Long> chunk = misses.subList(from, Math.min(from + chunkSize, misses.size()));
+      loadStudents(chunk, found);
     }
 
-    throw new NotFoundException("Студент не найден");
+    List<StudentLookupResponse> responses = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      StudentResponse student = found.get(id);
+      responses.add(student != null ? StudentLookupResponse.found(student) : StudentLookupResponse.missing(id));
+    }
+    return responses;
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public List<StudentSearchResponse> searchStudents(String query, int limit) {
+    List<Match> matches = searchIndex.search(query, limit);
+    if (matches.isEmpty()) {
+      return List.of();
+    }
+
+    List<StudentLookupResponse> students = getStudents(matches.stream().map(Match::id).toList());
+    List<StudentSearchResponse> responses = new ArrayList<>(matches.size());
+    for (int i = 0; i < matches.size(); i++) {
+      StudentLookupResponse student = students.get(i);
+      if (Boolean.TRUE.equals(student.getFound())) {
+        responses.add(new StudentSearchResponse(matches.get(i).score(), student.getStudent()));
+      }
+    }
+    return responses;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public StudentPageResponse listStudents(Long afterId, int limit, String groupName, String fullNamePrefix) {
+    List<Student> students = findPage(afterId, Limit.of(limit + 1), groupName, fullNamePrefix);
+    boolean hasNext = students.size() > limit;
+    List<Student> page = hasNext ? students.subList(0, limit) : students;
+
+    return StudentPageResponse.builder()
+        .students(page.stream()
+            .map(student -> metrics.timeModelToResponse(() -> mapper.modelToResponse(student)))
+            .toList())
+        .nextAfterId(hasNext ? page.get(page.size() - 1).getId() : null)
+        .build();
   }
 
   @Override
-  public StudentResponse updateStudent(StudentUpdateRequest request) {
-    Student student = mapper.requestToModel(request);
-    Student updatedStudent = repository.saveAndFlush(student);
-    return mapper.modelToResponse(updatedStudent);
+  public StudentResponse updateStudent(StudentUpdateRequest request, Long expectedVersion) {
+    Long id = request.getId();
+
+    if (idFilter.isDefinitelyAbsent(id)) {
+      throw StudentNotFoundException.INSTANCE;
+    }
+
+    int updated = expectedVersion == null
+        ? repository.updateFullNameAndGroupName(id, request.getFullName(), request.getGroupName())
+        : repository.updateFullNameAndGroupNameIfVersion(
+            id, request.getFullName(), request.getGroupName(), expectedVersion);
+
+    if (updated == 0) {
+      throw notChanged(id, expectedVersion);
+    }
+
+    StudentResponse response = repository.findResponseById(id)
+        .orElseThrow(() -> StudentNotFoundException.INSTANCE);
+    eventPublisher.publishEvent(StudentChangedEvent.updated(response));
+    return response;
   }
 
   @Override
-  public StudentResponse deleteStudent(Long id) {
-    Student student = repository.findById(id).orElse(null);
+  public void patchStudent(StudentPatchRequest request) {
+    Long id = request.getId();
+    String fullName = request.getFullName();
+    String groupName = request.getGroupName();
+    int updated;
+
+    if (idFilter.isDefinitelyAbsent(id)) {
+      throw StudentNotFoundException.INSTANCE;
+    }
+
+    if (fullName != null && groupName != null) {
+      updated = repository.updateFullNameAndGroupName(id, fullName, groupName);
+    } else if (fullName != null) {
+      updated = repository.updateFullName(id, fullName);
+    } else if (groupName != null) {
+      updated = repository.updateGroupName(id, groupName);
+    } else {
+      updated = repository.existsById(id) ? 1 : 0;
+    }
+
+    if (updated == 0) {
+      idFilter.recordFalsePositive();
+      throw StudentNotFoundException.INSTANCE;
+    }
+
+    eventPublisher.publishEvent(
+        fullName != null ? StudentChangedEvent.renamed(id, fullName) : StudentChangedEvent.updated(id));
+  }
+
+  @Override
+  public StudentGroupMoveResponse moveGroup(StudentGroupMoveRequest request) {
+    if (request.getFromGroupName().equals(request.getToGroupName())) {
+      throw new StudentValidationException("Исходная и новая группы совпадают");
+    }
+
+    List<Long> movedIds = repository.moveGroup(request.getFromGroupName(), request.getToGroupName());
+    movedIds.forEach(id -> eventPublisher.publishEvent(StudentChangedEvent.updated(id)));
+    return new StudentGroupMoveResponse(movedIds.size());
+  }
+
+  @Override
+  public StudentResponse deleteStudent(Long id, Long expectedVersion) {
+    if (idFilter.isDefinitelyAbsent(id)) {
+      throw StudentNotFoundException.INSTANCE;
+    }
+
+    StudentResponse response = repository.deleteReturning(id, expectedVersion).orElse(null);
+
+    if (response != null) {
+      eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
+      return response;
+    }
+
+    throw notChanged(id, expectedVersion);
+  }
+
+  private StudentResponse loadStudent(Long id) {
+    long cacheEpoch = cache.epoch();
+    StudentResponse response = repository.findResponseById(id).orElse(null);
+
+    if (response != null) {
+      if (readsFromPrimary()) {
+        cache.put(response, cacheEpoch);
+      }
+      return response;
+    }
+
+    idFilter.recordFalsePositive();
+    throw StudentNotFoundException.INSTANCE;
+  }
+
+  private void loadStudents(List<Long> ids, Map<Long, StudentResponse> found) {
+    long cacheEpoch = cache.epoch();
+    List<StudentResponse> loaded = limiter.call(() -> repository.findResponsesByIdIn(ids));
+    boolean cacheable = readsFromPrimary();
+    for (StudentResponse response : loaded) {
+      if (cacheable) {
+        cache.put(response, cacheEpoch);
+      }
+      found.put(response.getId(), response);
+    }
+
+    for (int i = loaded.size(); i < ids.size(); i++) {
+      idFilter.recordFalsePositive();
+    }
+  }
+
+  /**
+   * Транзакция только для чтения получает соединение реплики, если реплики включены и клиенту
+   * не нужна основная база.
+   * Строка с реплики может отставать от основной базы, поэтому в кэш не записывается: кэш
+   * наполняется событиями об изменениях и чтениями из основной базы.
+   */
+  private boolean readsFromPrimary() {
+    return !properties.getReplicas().isEnabled() || ReplicaRoutingContext.isPrimaryRequired();
+  }
+
+  private StudentException notChanged(Long id, Long expectedVersion) {
+    if (expectedVersion != null && repository.existsById(id)) {
+      return StudentConflictException.INSTANCE;
+    }
+
+    idFilter.recordFalsePositive();
+    return StudentNotFoundException.INSTANCE;
+  }
+
+  private List<Student> findPage(Long afterId, Limit limit, String groupName, String fullNamePrefix) {
+    boolean byGroup = groupName != null && !groupName.isBlank();
+    boolean byName = fullNamePrefix != null && !fullNamePrefix.isBlank();
+
+    if (byGroup && byName) {
+      return repository.findByGroupNameAndFullNameStartingWithAndIdGreaterThanOrderByIdAsc(
+          groupName, fullNamePrefix, afterId, limit);
+    }
+    if (byGroup) {
+      return repository.findByGroupNameAndIdGreaterThanOrderByIdAsc(groupName, afterId, limit);
+    }
+    if (byName) {
+      return repository.findByFullNameStartingWithAndIdGreaterThanOrderByIdAsc(fullNamePrefix, afterId, limit);
+    }
+    return repository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+  }
+
+  private List<String> validate(StudentCreateRequest request) {
+    if (request == null) {
+      return List.of("Запрос на создание информации о студенте не должен быть null");
+    }
+
+    return validator.validate(request)
+        .stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .toList();
+  }
+
+  private void saveChunk(List<Student> chunk, List<StudentBatchItemResponse> chunkItems) {
+    repository.saveAll(chunk);
+    repository.flush();
 
-    if (student != null) {
-      repository.delete(student);
-      return mapper.modelToResponse(student);
+    for (int i = 0; i < chunk.size(); i++) {
+      Student student = chunk.get(i);
+      StudentResponse response = metrics.timeModelToResponse(() -> mapper.modelToResponse(student));
+      chunkItems.get(i).setStudent(response);
+      eventPublisher.publishEvent(StudentChangedEvent.saved(response));
     }
 
-    throw new NotFoundException("Студент не найден");
+    entityManager.clear();
+    chunk.clear();
+    chunkItems.clear();
   }
 }
@@ -0,0 +1,178 @@
+package ru.mai.lessons.rpks.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+import ru.mai.lessons.rpks.services.StudentService;
+
+class StudentWriteBatcherTest {
+
+  private StudentService studentService;
+
+  private StudentWriteBatcher batcher;
+
+  @BeforeEach
+  public void setUp() {
+    StudentProperties properties = new StudentProperties();
+    properties.getWriteBatch().setEnabled(true);
+    properties.getWriteBatch().setMaxLinger(Duration.ofMillis(200));
+    properties.getWriteBatch().setMaxBatch(2);
+    studentService = mock(StudentService.class);
+    batcher = new StudentWriteBatcher(studentService, properties, new SimpleMeterRegistry());
+    batcher.start();
+  }
+
+  @AfterEach
+  @SneakyThrows
+  public void tearDown() {
+    batcher.stop();
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на сохранение одновременных запросов одним пакетом")
+  void givenConcurrentRequests_whenSave_thenSaveOneBatchAndReturnOwnResponses() {
+    StudentCreateRequest first = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentCreateRequest second = new StudentCreateRequest("Ivanov", "М8О-411Б");
+    StudentResponse firstResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    StudentResponse secondResponse = new StudentResponse(2L, "Ivanov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(anyList())).thenAnswer(invocation -> {
+      List<StudentCreateRequest> requests = invocation.getArgument(0);
+      return requests.stream()
+          .map(request -> new StudentBatchItemResponse(
+              requests.indexOf(request), request == first ? firstResponse : secondResponse, null))
+          .toList();
+    });
+
+    CompletableFuture<StudentResponse> firstResult = CompletableFuture.supplyAsync(() -> batcher.save(first));
+    CompletableFuture<StudentResponse> secondResult = CompletableFuture.supplyAsync(() -> batcher.save(second));
+
+    assertEquals(firstResponse, firstResult.get(5, TimeUnit.SECONDS));
+    assertEquals(secondResponse, secondResult.get(5, TimeUnit.SECONDS));
+    verify(studentService).saveStudents(anyList());
+  }
+
+  @Test
+  @DisplayName("Тест на сохранение некорректного запроса через пакет")
+  void givenInvalidRequest_whenSave_thenThrowOwnValidationException() {
+    StudentCreateRequest request = new StudentCreateRequest(" ", "М8О-411Б");
+    when(studentService.saveStudents(List.of(request))).thenReturn(List.of(
+        new StudentBatchItemResponse(0, null, List.of("Полное имя студента не должно быть пустым"))));
+
+    StudentValidationException exception =
+        assertThrows(StudentValidationException.class, () -> batcher.save(request));
+    assertEquals("Полное имя студента не должно быть пустым", exception.getMessage());
+  }
+
+  @Test
+  @DisplayName("Тест на сохранение по одному после ошибки пакетного сохранения")
+  void givenFailedBatch_whenSave_thenFallBackToSingleSave() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(request))).thenThrow(new IllegalStateException("batch failed"));
+    when(studentService.saveStudent(request)).thenReturn(expectedResponse);
+
+    assertEquals(expectedResponse, batcher.save(request));
+  }
+
+  @Test
+  @DisplayName("Тест на ответ вызывающему и продолжение работы после ошибки потока сохранения")
+  void givenErrorInBatch_whenSave_thenThrowAndKeepBatching() {
+    StudentCreateRequest failed = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentCreateRequest next = new StudentCreateRequest("Ivanov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(2L, "Ivanov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(failed))).thenThrow(new AssertionError("flusher failed"));
+    when(studentService.saveStudents(List.of(next)))
+        .thenReturn(List.of(new StudentBatchItemResponse(0, expectedResponse, null)));
+
+    assertThrows(IllegalStateException.class, () -> batcher.save(failed));
+    assertEquals(expectedResponse, batcher.save(next));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на сохранение напрямую запроса, не дождавшегося пакета")
+  void givenBusyFlusher_whenSaveWaitsTooLong_thenSaveDirectly() {
+    StudentProperties properties = new StudentProperties();
+    properties.getWriteBatch().setEnabled(true);
+    properties.getWriteBatch().setMaxLinger(Duration.ofMillis(1));
+    properties.getWriteBatch().setMaxBatch(1);
+    properties.getWriteBatch().setMaxWait(Duration.ofMillis(100));
+    StudentWriteBatcher busyBatcher =
+        new StudentWriteBatcher(studentService, properties, new SimpleMeterRegistry());
+    busyBatcher.start();
+
+    StudentCreateRequest slow = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentCreateRequest waiting = new StudentCreateRequest("Ivanov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(2L, "Ivanov", "М8О-411Б", 0L);
+    CountDownLatch flusherBusy = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    StudentResponse slowResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(slow))).thenAnswer(invocation -> {
+      flusherBusy.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of(new StudentBatchItemResponse(0, slowResponse, null));
+    });
+    when(studentService.saveStudent(waiting)).thenReturn(expectedResponse);
+
+    try {
+      CompletableFuture.runAsync(() -> busyBatcher.save(slow));
+      flusherBusy.await(5, TimeUnit.SECONDS);
+
+      assertEquals(expectedResponse, busyBatcher.save(waiting));
+      verify(studentService, never()).saveStudents(List.of(waiting));
+    } finally {
+      release.countDown();
+      busyBatcher.stop();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на ожидание пакета, который уже сохраняется дольше допустимого ожидания")
+  void givenTakenSlowBatch_whenSaveWaitsTooLong_thenWaitForBatchInsteadOfRetry() {
+    StudentProperties properties = new StudentProperties();
+    properties.getWriteBatch().setEnabled(true);
+    properties.getWriteBatch().setMaxLinger(Duration.ofMillis(1));
+    properties.getWriteBatch().setMaxBatch(1);
+    properties.getWriteBatch().setMaxWait(Duration.ofMillis(50));
+    StudentWriteBatcher slowBatcher =
+        new StudentWriteBatcher(studentService, properties, new SimpleMeterRegistry());
+    slowBatcher.start();
+
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(request))).thenAnswer(invocation -> {
+      Thread.sleep(300);
+      return List.of(new StudentBatchItemResponse(0, expectedResponse, null));
+    });
+
+    try {
+      assertEquals(expectedResponse, slowBatcher.save(request));
+      verify(studentService, never()).saveStudent(request);
+    } finally {
+      slowBatcher.stop();
+    }
+  }
+}
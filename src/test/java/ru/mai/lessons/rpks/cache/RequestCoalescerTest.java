@@ -0,0 +1,93 @@
+package ru.mai.lessons.rpks.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+
+class RequestCoalescerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private RequestCoalescer<Long, String> coalescer;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    coalescer = new RequestCoalescer<>("students", true, Duration.ofSeconds(5), meterRegistry);
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на объединение одновременных загрузок по одному ключу")
+  void givenConcurrentCalls_whenExecute_thenLoadOnce() {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute(1L, () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      await(release);
+      return "Domoroschenov";
+    }));
+    loading.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute(1L, () -> {
+      loads.incrementAndGet();
+      return "Ivanov";
+    }));
+    Thread.sleep(100);
+    release.countDown();
+
+    assertEquals("Domoroschenov", leader.get(5, TimeUnit.SECONDS));
+    assertEquals("Domoroschenov", follower.get(5, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+    assertEquals(
+        1.0,
+        meterRegistry.get("student.coalescing.calls").tag("result", "coalesced").counter().count()
+    );
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на передачу исключения загрузки всем объединенным запросам")
+  void givenFailingLoad_whenExecute_thenPropagateSameException() {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute(1L, () -> {
+      loading.countDown();
+      await(release);
+      throw StudentNotFoundException.INSTANCE;
+    }));
+    loading.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> follower =
+        CompletableFuture.supplyAsync(() -> coalescer.execute(1L, () -> "Ivanov"));
+    Thread.sleep(100);
+    release.countDown();
+
+    ExecutionException leaderError =
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+    ExecutionException followerError =
+        assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+    assertSame(StudentNotFoundException.INSTANCE, leaderError.getCause());
+    assertSame(StudentNotFoundException.INSTANCE, followerError.getCause());
+  }
+
+  @SneakyThrows
+  private static void await(CountDownLatch latch) {
+    latch.await(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,77 @@
+package ru.mai.lessons.rpks.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+
+class StudentCacheTest {
+
+  private StudentCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new StudentCache(new StudentProperties(), new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Тест на обновление кэша после изменения информации о студенте")
+  void givenUpdatedEvent_whenOnStudentChanged_thenCacheContainsNewStudent() {
+    StudentResponse updatedStudent = new StudentResponse(1L, "Domoroschenov", "М8О-511Б", 0L);
+    cache.put(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L));
+
+    cache.onStudentChanged(StudentChangedEvent.updated(updatedStudent));
+
+    assertEquals(updatedStudent, cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента из кэша после удаления информации о студенте")
+  void givenDeletedEvent_whenOnStudentChanged_thenCacheIsEmpty() {
+    cache.put(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L));
+
+    cache.onStudentChanged(StudentChangedEvent.deleted(1L));
+
+    assertNull(cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("Тест на сохранение более новой версии студента при записи устаревшей")
+  void givenNewerVersionCached_whenPutStaleVersion_thenNewerVersionKept() {
+    StudentResponse newerStudent = new StudentResponse(1L, "Domoroschenov", "М8О-511Б", 2L);
+    cache.put(newerStudent);
+
+    cache.put(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 1L));
+
+    assertEquals(newerStudent, cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("Тест на отказ от записи в кэш строки, прочитанной до инвалидации")
+  void givenEvictedDuringLoad_whenPutLoadedStudent_thenCacheIsEmpty() {
+    long loadEpoch = cache.epoch();
+    cache.onStudentChanged(StudentChangedEvent.deleted(1L));
+
+    cache.put(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L), loadEpoch);
+
+    assertNull(cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("Тест на запись в кэш строки, прочитанной после инвалидации")
+  void givenEvictedBeforeLoad_whenPutLoadedStudent_thenCacheContainsStudent() {
+    StudentResponse loadedStudent = new StudentResponse(1L, "Domoroschenov", "М8О-511Б", 1L);
+    cache.onStudentChanged(StudentChangedEvent.deleted(1L));
+    long loadEpoch = cache.epoch();
+
+    cache.put(loadedStudent, loadEpoch);
+
+    assertEquals(loadedStudent, cache.get(1L));
+  }
+}
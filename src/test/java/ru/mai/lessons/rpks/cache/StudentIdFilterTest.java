@@ -0,0 +1,53 @@
+package ru.mai.lessons.rpks.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+
+class StudentIdFilterTest {
+
+  private StudentIdFilter filter;
+
+  @BeforeEach
+  public void setUp() {
+    StudentProperties properties = new StudentProperties();
+    properties.getIdFilter().setEnabled(true);
+    StudentRepository repository = mock(StudentRepository.class);
+    when(repository.streamAllIds()).thenReturn(Stream.of(1L, 2L, 100_000L));
+
+    filter = new StudentIdFilter(
+        properties, repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    filter.rebuild();
+  }
+
+  @Test
+  @DisplayName("Тест на проверку идентификаторов после построения фильтра")
+  void givenRebuiltFilter_whenIsDefinitelyAbsent_thenOnlyUnknownIdsAreAbsent() {
+    assertFalse(filter.isDefinitelyAbsent(1L));
+    assertFalse(filter.isDefinitelyAbsent(100_000L));
+    assertTrue(filter.isDefinitelyAbsent(3L));
+    assertTrue(filter.isDefinitelyAbsent(5_000_000L));
+  }
+
+  @Test
+  @DisplayName("Тест на обновление фильтра после создания и удаления студентов")
+  void givenSavedAndDeletedEvents_whenOnStudentChanged_thenFilterFollowsChanges() {
+    filter.onStudentChanged(StudentChangedEvent.saved(new StudentResponse(3L, "Domoroschenov", "М8О-411Б", 0L)));
+    filter.onStudentChanged(StudentChangedEvent.deleted(1L));
+
+    assertFalse(filter.isDefinitelyAbsent(3L));
+    assertTrue(filter.isDefinitelyAbsent(1L));
+  }
+}
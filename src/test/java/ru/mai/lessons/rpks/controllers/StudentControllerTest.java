@@ -1,21 +1,56 @@
 package ru.mai.lessons.rpks.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.sql.SQLException;
+import java.util.List;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.mai.lessons.rpks.batch.StudentWriteBatcher;
 import ru.mai.lessons.rpks.controllers.impl.StudentControllerImpl;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
+import ru.mai.lessons.rpks.exception.DatabaseOverloadedException;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.metrics.StudentMetrics;
+import ru.mai.lessons.rpks.services.StudentExportService;
+import ru.mai.lessons.rpks.services.StudentIdempotencyService;
+import ru.mai.lessons.rpks.services.StudentImportService;
 import ru.mai.lessons.rpks.services.StudentService;
 import ru.mai.lessons.rpks.utils.JsonUtils;
 
@@ -24,17 +59,34 @@ import ru.mai.lessons.rpks.utils.JsonUtils;
 @TestPropertySource(properties = "server.port=8080")
 class StudentControllerTest {
 
+  private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
   @Autowired
   private MockMvc mockMvc;
 
   @MockitoBean
   private StudentService service;
 
+  @MockitoBean
+  private StudentImportService importService;
+
+  @MockitoBean
+  private StudentExportService exportService;
+
+  @MockitoBean
+  private StudentIdempotencyService idempotencyService;
+
+  @MockitoBean
+  private StudentWriteBatcher writeBatcher;
+
+  @MockitoBean
+  private StudentMetrics metrics;
+
   @Test
   @SneakyThrows
   @DisplayName("Тест на поиск студента по его идентификатору")
   void givenStudentId_whenGetStudent_thenReturnStudentResponse() {
-    StudentResponse expectedResponse = new StudentResponse();
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 3L);
     when(service.getStudent(1L)).thenReturn(expectedResponse);
 
     mockMvc
@@ -43,6 +95,484 @@ class StudentControllerTest {
                 .param("id", "1")
         )
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"3\""))
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на получение информации о студенте в формате CBOR")
+  void givenCborAccept_whenGetStudent_thenReturnCborResponse() {
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 3L);
+    when(service.getStudent(1L)).thenReturn(expectedResponse);
+
+    byte[] body = mockMvc
+        .perform(
+            get("/student/get")
+                .param("id", "1")
+                .accept(CBOR)
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(CBOR))
+        .andReturn()
+        .getResponse()
+        .getContentAsByteArray();
+
+    assertEquals(expectedResponse, new CBORMapper().readValue(body, StudentResponse.class));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск неизменившегося студента по его идентификатору")
+  void givenMatchingIfNoneMatch_whenGetStudent_thenReturnNotModified() {
+    when(service.getStudent(1L)).thenReturn(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 3L));
+
+    mockMvc
+        .perform(
+            get("/student/get")
+                .param("id", "1")
+                .header("If-None-Match", "\"3\"")
+        )
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на обновление информации о студенте с устаревшей версией")
+  void givenStaleIfMatch_whenUpdateStudent_thenReturnConflict() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-511Б");
+    when(service.updateStudent(request, 2L)).thenThrow(StudentConflictException.INSTANCE);
+
+    mockMvc
+        .perform(
+            put("/student/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"2\"")
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на обновление информации о студенте со слабым ETag")
+  void givenWeakIfMatch_whenUpdateStudent_thenReturnConflictWithoutUpdating() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-511Б");
+
+    mockMvc
+        .perform(
+            put("/student/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "W/\"2\"")
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isConflict());
+
+    verify(service, never()).updateStudent(any(), any());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на удаление информации о студенте со списком ETag")
+  void givenIfMatchList_whenDeleteStudent_thenReturnBadRequest() {
+    mockMvc
+        .perform(
+            delete("/student/delete")
+                .param("id", "1")
+                .header("If-Match", "\"1\", \"2\"")
+        )
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).deleteStudent(any(), any());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск несуществующего студента")
+  void givenUnknownStudentId_whenGetStudent_thenReturnNotFound() {
+    when(service.getStudent(1L)).thenThrow(StudentNotFoundException.INSTANCE);
+
+    mockMvc
+        .perform(
+            get("/student/get")
+                .param("id", "1")
+        )
+        .andExpect(status().isNotFound());
+
+    verify(metrics).recordNotFound();
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск студента при перегрузке базы данных")
+  void givenDatabaseOverloaded_whenGetStudent_thenReturnServiceUnavailable() {
+    when(service.getStudent(1L)).thenThrow(new DatabaseOverloadedException());
+
+    mockMvc
+        .perform(
+            get("/student/get")
+                .param("id", "1")
+        )
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на ответ о слишком длинном значении поля, отвергнутом базой данных")
+  void givenValueTooLong_whenSaveStudent_thenReturnBadRequest() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    when(service.saveStudent(request)).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement", new SQLException("Value too long for column", "22001")));
+
+    mockMvc
+        .perform(
+            post("/student/save")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Значение поля превышает допустимую длину"));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на ответ о нарушении уникальности при одновременной записи")
+  void givenUniqueViolation_whenSaveStudent_thenReturnConflict() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    when(service.saveStudent(request)).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement", new SQLException("Unique index or primary key violation", "23505")));
+
+    mockMvc
+        .perform(
+            post("/student/save")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на ответ о непредвиденной ошибке без внутренних подробностей")
+  void givenUnexpectedError_whenGetStudent_thenReturnInternalServerError() {
+    when(service.getStudent(1L)).thenThrow(new IllegalStateException("Connection pool is closed"));
+
+    mockMvc
+        .perform(
+            get("/student/get")
+                .param("id", "1")
+        )
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.error").value("Ошибка на стороне сервиса"));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на сохранение стандартного кода ответа для неподдерживаемого метода")
+  void givenUnsupportedMethod_whenRequest_thenReturnMethodNotAllowed() {
+    mockMvc
+        .perform(
+            delete("/student/get")
+                .param("id", "1")
+        )
+        .andExpect(status().isMethodNotAllowed())
+        .andExpect(header().exists("Allow"));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на создание информации о студенте с ключом идемпотентности")
+  void givenIdempotencyKey_whenSaveStudent_thenDelegateToIdempotencyService() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(idempotencyService.saveStudent("key-1", request)).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(
+            post("/student/save")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "key-1")
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+
+    verify(service, never()).saveStudent(any());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск нескольких студентов по идентификаторам из параметра запроса")
+  void givenStudentIds_whenGetStudents_thenReturnLookupResponses() {
+    List<StudentLookupResponse> expectedResponse = List.of(
+        StudentLookupResponse.found(new StudentResponse(2L, "Domoroschenov", "М8О-411Б", 0L)),
+        StudentLookupResponse.missing(1L)
+    );
+    when(service.getStudents(List.of(2L, 1L))).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(get("/student/get-many").param("ids", "2", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск нескольких студентов по идентификаторам из тела запроса")
+  void givenStudentIdsInBody_whenGetStudents_thenReturnLookupResponses() {
+    List<StudentLookupResponse> expectedResponse = List.of(StudentLookupResponse.missing(1L));
+    when(service.getStudents(List.of(1L))).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(
+            post("/student/get-many")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1]")
+        )
+        .andExpect(status().isOk())
         .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
   }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск нескольких студентов с пустым списком идентификаторов")
+  void givenEmptyStudentIds_whenGetStudents_thenReturnError() {
+    mockMvc
+        .perform(
+            post("/student/get-many")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+        )
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).getStudents(any());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск студентов по имени")
+  void givenQuery_whenSearchStudents_thenReturnSearchResponses() {
+    List<StudentSearchResponse> expectedResponse = List.of(
+        new StudentSearchResponse(0.9, new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L))
+    );
+    when(service.searchStudents("Domoroshenov", 5)).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(get("/student/search").param("q", "Domoroshenov").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на поиск студентов по пустому запросу")
+  void givenBlankQuery_whenSearchStudents_thenReturnError() {
+    mockMvc
+        .perform(get("/student/search").param("q", " "))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).searchStudents(any(), anyInt());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на пакетное создание информации о студентах")
+  void givenStudentRequests_whenSaveStudents_thenReturnBatchItemResponses() {
+    List<StudentCreateRequest> requests = List.of(new StudentCreateRequest("Domoroschenov", "М8О-411Б"));
+    List<StudentBatchItemResponse> expectedResponse = List.of(
+        new StudentBatchItemResponse(0, new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L), null)
+    );
+    when(service.saveStudents(requests)).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(
+            post("/student/save-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(requests))
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на пакетное создание информации о студентах с пустым списком")
+  void givenEmptyStudentRequests_whenSaveStudents_thenReturnError() {
+    mockMvc
+        .perform(
+            post("/student/save-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+        )
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на потоковый импорт информации о студентах")
+  void givenNdjsonStream_whenImportStudents_thenReturnNdjsonResponse() {
+    when(importService.importStudents(any(), any())).thenReturn(1L);
+
+    mockMvc
+        .perform(
+            post("/student/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"fullName\":\"Domoroschenov\",\"groupName\":\"М8О-411Б\"}\n")
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на потоковый импорт информации о студентах в неподдерживаемом формате")
+  void givenJsonBody_whenImportStudents_thenReturnUnsupportedMediaType() {
+    mockMvc
+        .perform(
+            post("/student/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+        )
+        .andExpect(status().isUnsupportedMediaType());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на выгрузку информации о студентах в формате CSV")
+  void givenCsvFormat_whenExportStudents_thenReturnCsvAttachment() {
+    when(exportService.exportStudents(eq(StudentExportFormat.CSV), any())).thenReturn(0L);
+
+    mockMvc
+        .perform(
+            get("/student/export")
+                .param("format", "CSV")
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на выгрузку информации о студентах в неизвестном формате")
+  void givenUnknownFormat_whenExportStudents_thenReturnError() {
+    mockMvc
+        .perform(
+            get("/student/export")
+                .param("format", "XML")
+        )
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на получение страницы со списком студентов")
+  void givenGroupName_whenListStudents_thenReturnStudentPageResponse() {
+    StudentPageResponse expectedResponse = new StudentPageResponse(
+        List.of(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L)), null);
+    when(service.listStudents(0L, 100, "М8О-411Б", null)).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(
+            get("/student/list")
+                .param("groupName", "М8О-411Б")
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на получение страницы со списком студентов со слишком большим размером страницы")
+  void givenTooLargeLimit_whenListStudents_thenReturnError() {
+    mockMvc
+        .perform(
+            get("/student/list")
+                .param("limit", "100000")
+        )
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на частичное обновление информации о студенте")
+  void givenStudentPatchRequest_whenPatchStudent_thenReturnNoContent() {
+    StudentPatchRequest request = new StudentPatchRequest(1L, null, "М8О-511Б");
+
+    mockMvc
+        .perform(
+            patch("/student/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isNoContent());
+
+    verify(service).patchStudent(request);
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на частичное обновление информации о студенте с пустой группой")
+  void givenBlankGroupName_whenPatchStudent_thenReturnError() {
+    StudentPatchRequest request = new StudentPatchRequest(1L, null, " ");
+
+    mockMvc
+        .perform(
+            patch("/student/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на частичное обновление студента слишком длинным названием группы")
+  void givenTooLongGroupName_whenPatchStudent_thenReturnError() {
+    StudentPatchRequest request = new StudentPatchRequest(1L, null, "М".repeat(31));
+
+    mockMvc
+        .perform(
+            patch("/student/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Группа студента не должна быть длиннее 30 символов"));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на перевод всех студентов группы в другую группу")
+  void givenGroupMoveRequest_whenMoveGroup_thenReturnMovedCount() {
+    StudentGroupMoveRequest request = new StudentGroupMoveRequest("М8О-411Б", "М8О-511Б");
+    StudentGroupMoveResponse expectedResponse = new StudentGroupMoveResponse(25);
+    when(service.moveGroup(request)).thenReturn(expectedResponse);
+
+    mockMvc
+        .perform(
+            put("/student/move-group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isOk())
+        .andExpect(content().string(JsonUtils.toJson(expectedResponse)));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на перевод студентов группы без указания новой группы")
+  void givenMissingToGroupName_whenMoveGroup_thenReturnError() {
+    StudentGroupMoveRequest request = new StudentGroupMoveRequest("М8О-411Б", null);
+
+    mockMvc
+        .perform(
+            put("/student/move-group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(request))
+        )
+        .andExpect(status().isBadRequest());
+  }
 }
@@ -0,0 +1,73 @@
+package ru.mai.lessons.rpks.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.mai.lessons.rpks.config.StudentProperties;
+
+class ReadYourWritesInterceptorTest {
+
+  @AfterEach
+  public void tearDown() {
+    ReplicaRoutingContext.clear();
+  }
+
+  @Test
+  @DisplayName("Тест на чтение из основной базы после записи клиента с идентификатором")
+  void givenWriteWithClientId_whenRead_thenPrimaryRequired() {
+    ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(properties(false));
+    handle(interceptor, request("POST", "/student/save", "client-1"));
+
+    interceptor.preHandle(request("GET", "/student/get", "client-1"), new MockHttpServletResponse(), null);
+
+    assertTrue(ReplicaRoutingContext.isPrimaryRequired());
+  }
+
+  @Test
+  @DisplayName("Тест на чтение без идентификатора клиента после записи с того же адреса")
+  void givenWriteWithoutClientId_whenReadFromSameAddress_thenPrimaryNotRequired() {
+    ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(properties(false));
+    handle(interceptor, request("POST", "/student/save", null));
+
+    interceptor.preHandle(request("GET", "/student/get", null), new MockHttpServletResponse(), null);
+
+    assertFalse(ReplicaRoutingContext.isPrimaryRequired());
+  }
+
+  @Test
+  @DisplayName("Тест на закрепление по адресу, включенное в настройках")
+  void givenStickyByAddress_whenReadFromSameAddress_thenPrimaryRequired() {
+    ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(properties(true));
+    handle(interceptor, request("POST", "/student/save", null));
+
+    interceptor.preHandle(request("GET", "/student/get", null), new MockHttpServletResponse(), null);
+
+    assertTrue(ReplicaRoutingContext.isPrimaryRequired());
+  }
+
+  private static void handle(ReadYourWritesInterceptor interceptor, MockHttpServletRequest request) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, null);
+    interceptor.afterCompletion(request, response, null, null);
+  }
+
+  private static MockHttpServletRequest request(String method, String path, String clientId) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    if (clientId != null) {
+      request.addHeader(ReadYourWritesInterceptor.CLIENT_ID_HEADER, clientId);
+    }
+    return request;
+  }
+
+  private static StudentProperties properties(boolean stickyByAddress) {
+    StudentProperties properties = new StudentProperties();
+    properties.getReplicas().setEnabled(true);
+    properties.getReplicas().setStickyByAddress(stickyByAddress);
+    return properties;
+  }
+}
@@ -0,0 +1,140 @@
+package ru.mai.lessons.rpks.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaDataSourceTest {
+
+  private DataSource primary;
+
+  private DataSource replica;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setUp() {
+    primary = database("primary");
+    replica = database("replica");
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    ReplicaRoutingContext.clear();
+    new JdbcTemplate(primary).execute("DROP TABLE node");
+    new JdbcTemplate(replica).execute("DROP TABLE node");
+  }
+
+  @Test
+  @DisplayName("Тест на чтение из реплики в транзакции только для чтения")
+  void givenReadOnlyTransaction_whenQuery_thenReplicaUsed() {
+    assertEquals("replica", currentNode(route(replica), true));
+  }
+
+  @Test
+  @DisplayName("Тест на выполнение изменяющей транзакции в основной базе")
+  void givenReadWriteTransaction_whenQuery_thenPrimaryUsed() {
+    assertEquals("primary", currentNode(route(replica), false));
+  }
+
+  @Test
+  @DisplayName("Тест на чтение из основной базы после собственной записи клиента")
+  void givenPrimaryRequired_whenReadOnlyQuery_thenPrimaryUsed() {
+    ReplicaRoutingContext.requirePrimary();
+
+    assertEquals("primary", currentNode(route(replica), true));
+  }
+
+  @Test
+  @DisplayName("Тест на переключение чтения в основную базу при недоступности реплики")
+  void givenUnavailableReplica_whenReadOnlyQuery_thenPrimaryUsed() {
+    DataSource unavailable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+
+    assertEquals("primary", currentNode(route(unavailable), true));
+    assertEquals(1.0, meterRegistry.get("student.replicas.fallbacks").counter().count());
+    assertEquals(0.0, meterRegistry.get("student.replicas.healthy").gauge().value());
+  }
+
+  @Test
+  @DisplayName("Тест на чтение из реплики в транзакции JPA только для чтения внутри области SUPPORTS")
+  void givenReadOnlyJpaTransactionInsideSupports_whenQuery_thenReplicaUsed() {
+    assertEquals("replica", currentNodeViaJpa(route(replica), TransactionDefinition.PROPAGATION_REQUIRED));
+  }
+
+  @Test
+  @DisplayName("Тест на чтение из основной базы в области SUPPORTS без транзакции JPA")
+  void givenSupportsScopeOnly_whenQuery_thenPrimaryUsed() {
+    assertEquals("primary", currentNodeViaJpa(route(replica), TransactionDefinition.PROPAGATION_SUPPORTS));
+  }
+
+  private DataSource route(DataSource replicaDataSource) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+    dataSource.setReadOnlyDataSource(
+        new ReplicaDataSource(primary, Map.of("replica-0", replicaDataSource), meterRegistry));
+    return dataSource;
+  }
+
+  private static String currentNode(DataSource dataSource, boolean readOnly) {
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(readOnly);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+  }
+
+  /**
+   * Повторяет чтение сервиса: внешняя область {@code SUPPORTS} только для чтения, внутри нее запрос
+   * с заданным распространением транзакции, как у метода репозитория.
+   */
+  private static String currentNodeViaJpa(DataSource dataSource, int queryPropagation) {
+    LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setPackagesToScan("ru.mai.lessons.rpks.models");
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    factoryBean.afterPropertiesSet();
+    EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+    try {
+      JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+      EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+      TransactionTemplate outer = new TransactionTemplate(transactionManager);
+      outer.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+      outer.setReadOnly(true);
+      TransactionTemplate query = new TransactionTemplate(transactionManager);
+      query.setPropagationBehavior(queryPropagation);
+      query.setReadOnly(true);
+
+      return outer.execute(outerStatus -> query.execute(status ->
+          (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult()));
+    } finally {
+      factoryBean.destroy();
+    }
+  }
+
+  private static DataSource database(String name) {
+    DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+    jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,48 @@
+package ru.mai.lessons.rpks.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.exception.DatabaseOverloadedException;
+
+class DatabaseConcurrencyLimiterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private DatabaseConcurrencyLimiter limiter;
+
+  @BeforeEach
+  public void setUp() {
+    StudentProperties properties = new StudentProperties();
+    properties.getLimiter().setMaxConcurrent(1);
+    properties.getLimiter().setMaxQueue(1);
+    properties.getLimiter().setMaxWait(Duration.ofMillis(10));
+    meterRegistry = new SimpleMeterRegistry();
+    limiter = new DatabaseConcurrencyLimiter(properties, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Тест на получение доступа к базе данных после его освобождения")
+  void givenReleasedPermit_whenAcquire_thenNotThrow() {
+    limiter.acquire();
+    limiter.release();
+
+    assertDoesNotThrow(limiter::acquire);
+  }
+
+  @Test
+  @DisplayName("Тест на отклонение запроса при исчерпании доступа к базе данных")
+  void givenAllPermitsTaken_whenAcquire_thenThrowDatabaseOverloadedException() {
+    limiter.acquire();
+
+    assertThrows(DatabaseOverloadedException.class, limiter::acquire);
+    assertEquals(1.0, meterRegistry.get("student.db.limiter.rejected").counter().count());
+  }
+}
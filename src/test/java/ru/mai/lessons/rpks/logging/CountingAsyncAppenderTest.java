@@ -0,0 +1,61 @@
+package ru.mai.lessons.rpks.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class CountingAsyncAppenderTest {
+
+  private static final int THREADS = 8;
+  private static final int EVENTS_PER_THREAD = 2_000;
+
+  @Test
+  @DisplayName("Тест на учет каждого потерянного события при одновременной записи в полную очередь")
+  void givenConcurrentAppendsToSmallQueue_whenAppend_thenEveryEventIsDeliveredOrCounted() {
+    LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    AtomicLong delivered = new AtomicLong();
+    AppenderBase<ILoggingEvent> target = new AppenderBase<>() {
+      @Override
+      protected void append(ILoggingEvent event) {
+        delivered.incrementAndGet();
+      }
+    };
+    target.setContext(context);
+    target.start();
+
+    CountingAsyncAppender appender = new CountingAsyncAppender();
+    appender.setContext(context);
+    appender.setQueueSize(4);
+    appender.setDiscardingThreshold(0);
+    appender.setNeverBlock(true);
+    appender.addAppender(target);
+    appender.start();
+
+    long droppedBefore = CountingAsyncAppender.getDroppedCount();
+    List<CompletableFuture<Void>> writers = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      writers.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+          appender.doAppend(new LoggingEvent(
+              CountingAsyncAppenderTest.class.getName(), context.getLogger("access"), Level.INFO, "event", null, null));
+        }
+      }));
+    }
+    writers.forEach(CompletableFuture::join);
+    appender.stop();
+
+    long dropped = CountingAsyncAppender.getDroppedCount() - droppedBefore;
+    assertEquals((long) THREADS * EVENTS_PER_THREAD, delivered.get() + dropped);
+  }
+}
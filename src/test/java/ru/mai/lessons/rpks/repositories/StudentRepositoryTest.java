@@ -2,7 +2,11 @@ package ru.mai.lessons.rpks.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,7 +14,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
 import ru.mai.lessons.rpks.models.Student;
 
 @DataJpaTest
@@ -29,13 +35,141 @@ class StudentRepositoryTest {
   @Test
   @DisplayName("Тест на поиск студента по его идентификатору")
   void givenStudent_whenFindById_thenReturnStudent() {
-    Student studentToSave = new Student(null, "Domoroschenov", "М8О-411Б");
-    repository.save(studentToSave);
+    Student studentToSave = new Student(null, "Domoroschenov", "М8О-411Б", null);
+    Student savedStudent = repository.save(studentToSave);
 
-    Student studentById = repository.findById(1L).orElse(null);
+    Student studentById = repository.findById(savedStudent.getId()).orElse(null);
 
     assertNotNull(studentById);
     assertEquals(studentToSave.getFullName(), studentById.getFullName());
     assertEquals(studentToSave.getGroupName(), studentById.getGroupName());
   }
+
+  @Test
+  @DisplayName("Тест на потоковое чтение всех студентов")
+  void givenStudents_whenStreamAll_thenReturnStudentsOrderedById() {
+    repository.save(new Student(null, "Domoroschenov", "М8О-411Б", null));
+    repository.save(new Student(null, "Ivanov", "М8О-412Б", null));
+
+    List<String> fullNames;
+    try (Stream<Student> students = repository.streamAll()) {
+      fullNames = students.map(Student::getFullName).toList();
+    }
+
+    assertEquals(List.of("Domoroschenov", "Ivanov"), fullNames);
+  }
+
+  @Test
+  @DisplayName("Тест на постраничный поиск студентов по группе и началу полного имени")
+  void givenStudents_whenFindByGroupNameAndFullNamePrefixAfterId_thenReturnNextStudents() {
+    Student first = repository.save(new Student(null, "Domoroschenov", "М8О-411Б", null));
+    Student second = repository.save(new Student(null, "Dmitriev", "М8О-411Б", null));
+    repository.save(new Student(null, "Ivanov", "М8О-411Б", null));
+    repository.save(new Student(null, "Davydov", "М8О-412Б", null));
+
+    List<Student> students = repository.findByGroupNameAndFullNameStartingWithAndIdGreaterThanOrderByIdAsc(
+        "М8О-411Б", "D", first.getId(), Limit.of(10));
+
+    assertEquals(List.of(second.getId()), students.stream().map(Student::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Тест на обновление группы студента одним запросом")
+  void givenStudent_whenUpdateGroupName_thenReturnUpdatedRowCount() {
+    Student savedStudent = repository.save(new Student(null, "Domoroschenov", "М8О-411Б", null));
+    repository.flush();
+
+    int updated = repository.updateGroupName(savedStudent.getId(), "М8О-511Б");
+
+    assertEquals(1, updated);
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента с возвратом удаленной строки")
+  void givenStudent_whenDeleteReturning_thenReturnDeletedStudent() {
+    Student savedStudent = repository.saveAndFlush(new Student(null, "Domoroschenov", "М8О-411Б", null));
+
+    Optional<StudentResponse> deletedStudent = repository.deleteReturning(savedStudent.getId(), null);
+
+    assertEquals(
+        Optional.of(new StudentResponse(savedStudent.getId(), "Domoroschenov", "М8О-411Б", 0L)),
+        deletedStudent
+    );
+  }
+
+  @Test
+  @DisplayName("Тест на удаление несуществующего студента с возвратом удаленной строки")
+  void givenUnknownStudentId_whenDeleteReturning_thenReturnEmpty() {
+    Optional<StudentResponse> deletedStudent = repository.deleteReturning(Long.MAX_VALUE, null);
+
+    assertEquals(Optional.empty(), deletedStudent);
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента с устаревшей версией")
+  void givenStaleVersion_whenDeleteReturning_thenReturnEmptyAndKeepStudent() {
+    Student savedStudent = repository.saveAndFlush(new Student(null, "Domoroschenov", "М8О-411Б", null));
+
+    Optional<StudentResponse> deletedStudent = repository.deleteReturning(savedStudent.getId(), 1L);
+
+    assertEquals(Optional.empty(), deletedStudent);
+    assertTrue(repository.existsById(savedStudent.getId()));
+  }
+
+  @Test
+  @DisplayName("Тест на обновление студента с проверкой версии")
+  void givenVersions_whenUpdateFullNameAndGroupNameIfVersion_thenOnlyCurrentVersionIsUpdated() {
+    Student savedStudent = repository.saveAndFlush(new Student(null, "Domoroschenov", "М8О-411Б", null));
+
+    int staleUpdated = repository.updateFullNameAndGroupNameIfVersion(
+        savedStudent.getId(), "Ivanov", "М8О-511Б", 1L);
+    int updated = repository.updateFullNameAndGroupNameIfVersion(
+        savedStudent.getId(), "Ivanov", "М8О-511Б", 0L);
+
+    assertEquals(0, staleUpdated);
+    assertEquals(1, updated);
+    assertEquals(
+        Optional.of(new StudentResponse(savedStudent.getId(), "Ivanov", "М8О-511Б", 1L)),
+        repository.findResponseById(savedStudent.getId())
+    );
+  }
+
+  @Test
+  @DisplayName("Тест на перевод всех студентов группы в другую группу")
+  void givenStudentsInGroup_whenMoveGroup_thenReturnMovedIds() {
+    Student first = repository.save(new Student(null, "Domoroschenov", "М8О-411Б", null));
+    Student second = repository.save(new Student(null, "Ivanov", "М8О-411Б", null));
+    repository.saveAndFlush(new Student(null, "Petrov", "М8О-412Б", null));
+
+    List<Long> movedIds = repository.moveGroup("М8О-411Б", "М8О-511Б");
+
+    assertEquals(List.of(first.getId(), second.getId()), movedIds.stream().sorted().toList());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента по его идентификатору сразу в виде ответа")
+  void givenStudent_whenFindResponseById_thenReturnStudentResponse() {
+    Student savedStudent = repository.saveAndFlush(new Student(null, "Domoroschenov", "М8О-411Б", null));
+
+    Optional<StudentResponse> studentResponse = repository.findResponseById(savedStudent.getId());
+
+    assertEquals(
+        Optional.of(new StudentResponse(savedStudent.getId(), "Domoroschenov", "М8О-411Б", 0L)),
+        studentResponse
+    );
+  }
+
+  @Test
+  @DisplayName("Тест на поиск нескольких студентов по их идентификаторам сразу в виде ответов")
+  void givenStudents_whenFindResponsesByIdIn_thenReturnOnlyExistingStudents() {
+    Student first = repository.saveAndFlush(new Student(null, "Domoroschenov", "М8О-411Б", null));
+    Student second = repository.saveAndFlush(new Student(null, "Ivanov", "М8О-412Б", null));
+
+    List<StudentResponse> responses = repository.findResponsesByIdIn(
+        List.of(first.getId(), second.getId(), second.getId() + 1000));
+
+    assertEquals(2, responses.size());
+    assertTrue(responses.contains(new StudentResponse(first.getId(), "Domoroschenov", "М8О-411Б", 0L)));
+    assertTrue(responses.contains(new StudentResponse(second.getId(), "Ivanov", "М8О-412Б", 0L)));
+  }
 }
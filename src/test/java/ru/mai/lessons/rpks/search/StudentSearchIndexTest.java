@@ -0,0 +1,118 @@
+package ru.mai.lessons.rpks.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
+
+class StudentSearchIndexTest {
+
+  private StudentRepository repository;
+
+  private StudentSearchIndex searchIndex;
+
+  @BeforeEach
+  public void setUp() {
+    repository = mock(StudentRepository.class);
+    searchIndex = new StudentSearchIndex(
+        new StudentProperties(), repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Тест на построение индекса и его обновление событиями")
+  void givenRebuiltIndex_whenOnStudentChanged_thenSearchFollowsChanges() {
+    when(repository.streamAllResponses()).thenReturn(Stream.of(
+        new StudentResponse(1L, "Доморощенов Иван", "М8О-411Б", 0L),
+        new StudentResponse(2L, "Иванов Петр", "М8О-411Б", 0L)
+    ));
+    searchIndex.rebuild();
+
+    searchIndex.onStudentChanged(StudentChangedEvent.renamed(2L, "Сидоров Петр"));
+    searchIndex.onStudentChanged(StudentChangedEvent.deleted(1L));
+    searchIndex.onStudentChanged(StudentChangedEvent.updated(3L));
+
+    assertTrue(searchIndex.search("Доморощенов", 10).isEmpty());
+    assertEquals(List.of(2L), ids(searchIndex.search("Сидоров", 10)));
+    assertEquals(1, searchIndex.size());
+  }
+
+  @Test
+  @DisplayName("Тест на приоритет изменений, пришедших во время построения индекса")
+  void givenChangesBeforeRebuild_whenRebuild_thenKeepNewerState() {
+    searchIndex.onStudentChanged(StudentChangedEvent.renamed(1L, "Сидоров Петр"));
+    searchIndex.onStudentChanged(StudentChangedEvent.deleted(2L));
+    when(repository.streamAllResponses()).thenReturn(Stream.of(
+        new StudentResponse(1L, "Доморощенов Иван", "М8О-411Б", 0L),
+        new StudentResponse(2L, "Иванов Петр", "М8О-411Б", 0L)
+    ));
+
+    searchIndex.rebuild();
+
+    assertEquals(List.of(1L), ids(searchIndex.search("Сидоров", 10)));
+    assertTrue(searchIndex.search("Доморощенов", 10).isEmpty());
+    assertTrue(searchIndex.search("Иванов", 10).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Тест на повторное построение индекса после ошибки чтения таблицы")
+  void givenFailedScan_whenRebuildWithRetries_thenRetryKeepsChangesMadeMeanwhile() {
+    searchIndex = new StudentSearchIndex(
+        withoutRetryDelay(), repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    when(repository.streamAllResponses())
+        .thenAnswer(invocation -> {
+          searchIndex.onStudentChanged(StudentChangedEvent.renamed(1L, "Сидоров Петр"));
+          throw new QueryTimeoutException("Таймаут запроса");
+        })
+        .thenReturn(Stream.of(
+            new StudentResponse(1L, "Доморощенов Иван", "М8О-411Б", 0L),
+            new StudentResponse(2L, "Иванов Петр", "М8О-411Б", 0L)
+        ));
+
+    searchIndex.rebuildWithRetries();
+
+    assertEquals(List.of(1L), ids(searchIndex.search("Сидоров", 10)));
+    assertEquals(List.of(2L), ids(searchIndex.search("Иванов", 10)));
+    assertTrue(searchIndex.search("Доморощенов", 10).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Тест на работу индекса, который не удалось построить")
+  void givenScanAlwaysFails_whenRebuildWithRetries_thenIndexFollowsChanges() {
+    searchIndex = new StudentSearchIndex(
+        withoutRetryDelay(), repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    when(repository.streamAllResponses()).thenThrow(new QueryTimeoutException("Таймаут запроса"));
+
+    searchIndex.rebuildWithRetries();
+    searchIndex.onStudentChanged(StudentChangedEvent.renamed(1L, "Сидоров Петр"));
+
+    verify(repository, times(3)).streamAllResponses();
+    assertEquals(List.of(1L), ids(searchIndex.search("Сидоров", 10)));
+  }
+
+  private static StudentProperties withoutRetryDelay() {
+    StudentProperties properties = new StudentProperties();
+    properties.getSearch().setRebuildRetryDelay(Duration.ZERO);
+    return properties;
+  }
+
+  private static List<Long> ids(List<Match> matches) {
+    return matches.stream().map(Match::id).toList();
+  }
+}
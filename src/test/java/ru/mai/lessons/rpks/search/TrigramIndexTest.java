@@ -0,0 +1,99 @@
+package ru.mai.lessons.rpks.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
+
+class TrigramIndexTest {
+
+  private static final double MIN_SIMILARITY = 0.4;
+
+  private TrigramIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    index = new TrigramIndex();
+    index.put(1L, "Доморощенов Иван Петрович");
+    index.put(2L, "Иванов Иван Иванович");
+    index.put(3L, "Королёв Сергей Павлович");
+    index.put(4L, "Ivanov Ivan");
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента по фамилии с опечаткой")
+  void givenMisspelledSurname_whenSearch_thenReturnStudent() {
+    List<Match> matches = index.search("Домарощенов", 10, MIN_SIMILARITY);
+
+    assertEquals(1L, matches.get(0).id());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск по фамилии с опечаткой среди полных имен с отчеством")
+  void givenMisspelledSurnameAndShorterNames_whenSearch_thenRankBySurname() {
+    index.put(5L, "Ивонина Ия");
+    index.put(6L, "Ли Нов Ив");
+
+    List<Match> matches = index.search("Ивонов", 10, MIN_SIMILARITY);
+
+    assertEquals(2L, matches.get(0).id());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента без учета регистра и различия «е» и «ё»")
+  void givenQueryWithoutYo_whenSearch_thenReturnStudentWithYo() {
+    List<Match> matches = index.search("КОРОЛЕВ", 10, MIN_SIMILARITY);
+
+    assertEquals(List.of(3L), matches.stream().map(Match::id).toList());
+  }
+
+  @Test
+  @DisplayName("Тест на ранжирование студентов по сходству с запросом")
+  void givenSeveralMatches_whenSearch_thenReturnMostSimilarFirst() {
+    index.put(5L, "Иванов");
+
+    List<Match> matches = index.search("иванов", 10, MIN_SIMILARITY);
+
+    assertEquals(5L, matches.get(0).id());
+    assertEquals(2L, matches.get(1).id());
+    assertEquals(1.0, matches.get(1).score());
+    assertTrue(matches.get(1).score() > matches.get(2).score());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск после переименования и удаления студентов")
+  void givenRenamedAndRemovedStudents_whenSearch_thenFollowChanges() {
+    index.put(1L, "Петров Петр");
+    index.remove(2L);
+
+    assertTrue(index.search("Доморощенов", 10, MIN_SIMILARITY).isEmpty());
+    assertTrue(index.search("Иванов Иван Иванович", 10, MIN_SIMILARITY).stream().noneMatch(m -> m.id() == 2L));
+    assertEquals(1L, index.search("Петров", 10, MIN_SIMILARITY).get(0).id());
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск после уплотнения индекса")
+  void givenManyRemovedStudents_whenSearch_thenFindRemainingStudents() {
+    for (long id = 100; id < 5000; id++) {
+      index.put(id, "Студент" + id);
+    }
+    for (long id = 100; id < 5000; id++) {
+      index.remove(id);
+    }
+
+    assertEquals(4, index.size());
+    assertEquals(3L, index.search("Королёв", 10, MIN_SIMILARITY).get(0).id());
+  }
+
+  @Test
+  @DisplayName("Тест на ограничение количества результатов поиска")
+  void givenLimit_whenSearch_thenReturnAtMostLimitMatches() {
+    assertEquals(1, index.search("Иван", 1, MIN_SIMILARITY).size());
+    assertTrue(index.search("   ", 10, MIN_SIMILARITY).isEmpty());
+  }
+}
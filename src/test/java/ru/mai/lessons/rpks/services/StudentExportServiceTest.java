@@ -0,0 +1,103 @@
+package ru.mai.lessons.rpks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
+import ru.mai.lessons.rpks.dto.requests.StudentExportFormat;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.models.Student;
+import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.services.impl.StudentExportServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class StudentExportServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private StudentMapper mapper;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock
+  private EntityManager entityManager;
+
+  @InjectMocks
+  private StudentExportServiceImpl exportService;
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на выгрузку информации о студентах в формате CSV")
+  void givenStudents_whenExportStudentsAsCsv_thenWriteCsvRows() {
+    Student model = new Student(1L, "Domoroschenov, Alexandr", "М8О-411Б", 0L);
+    when(repository.streamAll()).thenReturn(Stream.of(model));
+    when(mapper.modelToResponse(model))
+        .thenReturn(new StudentResponse(1L, "Domoroschenov, Alexandr", "М8О-411Б", 0L));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    long exported = exportService.exportStudents(StudentExportFormat.CSV, output);
+
+    assertEquals(1L, exported);
+    assertEquals(
+        "id,fullName,groupName\n1,\"Domoroschenov, Alexandr\",М8О-411Б\n",
+        output.toString(StandardCharsets.UTF_8)
+    );
+    verify(entityManager).detach(model);
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на выгрузку информации о студентах из пустой таблицы")
+  void givenNoStudents_whenExportStudentsAsNdjson_thenWriteNothing() {
+    when(repository.streamAll()).thenReturn(Stream.empty());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    long exported = exportService.exportStudents(StudentExportFormat.NDJSON, output);
+
+    assertEquals(0L, exported);
+    assertEquals("", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на выгрузку информации о студентах в формате CBOR")
+  void givenStudents_whenExportStudentsAsCbor_thenWriteCborSequence() {
+    Student first = new Student(1L, "Domoroschenov", "М8О-411Б", 0L);
+    Student second = new Student(2L, "Ivanov", "М8О-412Б", 0L);
+    StudentResponse firstResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    StudentResponse secondResponse = new StudentResponse(2L, "Ivanov", "М8О-412Б", 0L);
+    when(repository.streamAll()).thenReturn(Stream.of(first, second));
+    when(mapper.modelToResponse(first)).thenReturn(firstResponse);
+    when(mapper.modelToResponse(second)).thenReturn(secondResponse);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    long exported = exportService.exportStudents(StudentExportFormat.CBOR, output);
+
+    assertEquals(2L, exported);
+    try (MappingIterator<StudentResponse> values = new CBORMapper()
+        .readerFor(StudentResponse.class)
+        .readValues(output.toByteArray())) {
+      assertEquals(List.of(firstResponse, secondResponse), values.readAll());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package ru.mai.lessons.rpks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.exception.StudentIdempotencyKeyException;
+import ru.mai.lessons.rpks.limiter.DatabaseConcurrencyLimiter;
+import ru.mai.lessons.rpks.models.IdempotencyKey;
+import ru.mai.lessons.rpks.repositories.IdempotencyKeyRepository;
+import ru.mai.lessons.rpks.services.impl.StudentIdempotencyServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class StudentIdempotencyServiceTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private IdempotencyKeyRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Spy
+  private DatabaseConcurrencyLimiter limiter =
+      new DatabaseConcurrencyLimiter(new StudentProperties(), new SimpleMeterRegistry());
+
+  @Spy
+  private StudentProperties properties = new StudentProperties();
+
+  @Spy
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @InjectMocks
+  private StudentIdempotencyServiceImpl idempotencyService;
+
+  @Test
+  @DisplayName("Тест на повторное создание студента с тем же ключом идемпотентности")
+  void givenRepeatedIdempotencyKey_whenSaveStudent_thenSaveOnceAndReplayResponse() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(repository.findById("key-1")).thenReturn(Optional.empty());
+    when(repository.claim(eq("key-1"), anyString(), anyString(), any(Instant.class))).thenReturn(1);
+    when(studentService.saveStudent(request)).thenReturn(expectedResponse);
+
+    StudentResponse firstResponse = idempotencyService.saveStudent("key-1", request);
+    StudentResponse replayedResponse = idempotencyService.saveStudent("key-1", request);
+
+    assertEquals(expectedResponse, firstResponse);
+    assertEquals(expectedResponse, replayedResponse);
+    verify(studentService, times(1)).saveStudent(request);
+    verify(repository, times(1)).updateResponse(eq("key-1"), anyString());
+  }
+
+  @Test
+  @DisplayName("Тест на создание студента с ключом идемпотентности, использованным для другого запроса")
+  void givenIdempotencyKeyReusedWithOtherRequest_whenSaveStudent_thenThrowIdempotencyKeyException() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    when(repository.findById("key-1")).thenReturn(Optional.empty());
+    when(repository.claim(eq("key-1"), anyString(), anyString(), any(Instant.class))).thenReturn(1);
+    when(studentService.saveStudent(request))
+        .thenReturn(new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L));
+    idempotencyService.saveStudent("key-1", request);
+
+    StudentCreateRequest otherRequest = new StudentCreateRequest("Ivanov", "М8О-411Б");
+
+    assertThrows(
+        StudentIdempotencyKeyException.class,
+        () -> idempotencyService.saveStudent("key-1", otherRequest)
+    );
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на создание студента с ключом идемпотентности, сохраненным в базе данных")
+  void givenStoredIdempotencyKey_whenSaveStudent_thenReturnStoredResponseWithoutSaving() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse storedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    String requestHash = HexFormat.of().formatHex(
+        MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    String storedJson = objectMapper.writeValueAsString(storedResponse);
+    when(repository.findById("key-1")).thenReturn(Optional.of(new IdempotencyKey(
+        "key-1",
+        requestHash,
+        storedJson,
+        Instant.now().plus(1, ChronoUnit.HOURS)
+    )));
+
+    StudentResponse actualResponse = idempotencyService.saveStudent("key-1", request);
+
+    assertEquals(storedResponse, actualResponse);
+    verify(studentService, never()).saveStudent(any());
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на создание студента с ключом идемпотентности, занятым другим экземпляром")
+  void givenIdempotencyKeyClaimedConcurrently_whenSaveStudent_thenReturnWinnerResponseWithoutSaving() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse winnerResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    String requestHash = HexFormat.of().formatHex(
+        MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    String winnerJson = objectMapper.writeValueAsString(winnerResponse);
+    when(repository.findById("key-1")).thenReturn(
+        Optional.empty(),
+        Optional.of(new IdempotencyKey("key-1", requestHash, winnerJson, Instant.now().plus(1, ChronoUnit.HOURS)))
+    );
+    when(repository.claim(eq("key-1"), eq(requestHash), anyString(), any(Instant.class))).thenReturn(0);
+
+    StudentResponse actualResponse = idempotencyService.saveStudent("key-1", request);
+
+    assertEquals(winnerResponse, actualResponse);
+    verify(studentService, never()).saveStudent(any());
+    verify(repository, never()).updateResponse(anyString(), anyString());
+  }
+}
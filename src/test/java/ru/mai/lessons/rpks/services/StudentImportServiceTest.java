@@ -0,0 +1,99 @@
+package ru.mai.lessons.rpks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.services.impl.StudentImportServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Spy
+  private StudentProperties properties = new StudentProperties();
+
+  @InjectMocks
+  private StudentImportServiceImpl importService;
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на потоковый импорт информации о студентах")
+  void givenNdjsonStream_whenImportStudents_thenWriteResultPerLine() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse savedStudent = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(request)))
+        .thenReturn(List.of(new StudentBatchItemResponse(0, savedStudent, null)));
+    String input = objectMapper.writeValueAsString(request) + "\n";
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    long processed = importService.importStudents(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+    assertEquals(1L, processed);
+    assertEquals(
+        objectMapper.writeValueAsString(new StudentBatchItemResponse(0, savedStudent, null)) + "\n",
+        output.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на потоковый импорт некорректной записи о студенте")
+  void givenMalformedLine_whenImportStudents_thenWriteParseError() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    importService.importStudents(
+        new ByteArrayInputStream("{not json}\n".getBytes(StandardCharsets.UTF_8)), output);
+
+    assertEquals(
+        objectMapper.writeValueAsString(
+            new StudentBatchItemResponse(0, null, List.of("Некорректный формат записи о студенте"))) + "\n",
+        output.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Тест на потоковый импорт слишком длинной записи о студенте")
+  void givenTooLongLine_whenImportStudents_thenWriteErrorAndContinueWithNextLine() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentResponse savedStudent = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(studentService.saveStudents(List.of(request)))
+        .thenReturn(List.of(new StudentBatchItemResponse(0, savedStudent, null)));
+    String input = "{\"fullName\":\"" + "D".repeat(10_000) + "\"}\n" + objectMapper.writeValueAsString(request) + "\n";
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    long processed = importService.importStudents(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+    assertEquals(2L, processed);
+    assertEquals(
+        objectMapper.writeValueAsString(
+            new StudentBatchItemResponse(0, null, List.of("Запись о студенте длиннее 4096 символов"))) + "\n"
+            + objectMapper.writeValueAsString(new StudentBatchItemResponse(1, savedStudent, null)) + "\n",
+        output.toString(StandardCharsets.UTF_8)
+    );
+  }
+}
@@ -1,19 +1,63 @@
 package ru.mai.lessons.rpks.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import ru.mai.lessons.rpks.cache.RequestCoalescer;
+import ru.mai.lessons.rpks.cache.StudentCache;
+import ru.mai.lessons.rpks.cache.StudentIdFilter;
+import ru.mai.lessons.rpks.config.StudentProperties;
+import ru.mai.lessons.rpks.datasource.ReplicaRoutingContext;
 import ru.mai.lessons.rpks.dto.mappers.StudentMapper;
+import ru.mai.lessons.rpks.dto.requests.StudentCreateRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentGroupMoveRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentPatchRequest;
+import ru.mai.lessons.rpks.dto.requests.StudentUpdateRequest;
+import ru.mai.lessons.rpks.dto.respones.StudentBatchItemResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentGroupMoveResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentLookupResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentPageResponse;
 import ru.mai.lessons.rpks.dto.respones.StudentResponse;
+import ru.mai.lessons.rpks.dto.respones.StudentSearchResponse;
+import ru.mai.lessons.rpks.events.StudentChangedEvent;
+import ru.mai.lessons.rpks.exception.StudentConflictException;
+import ru.mai.lessons.rpks.exception.StudentNotFoundException;
+import ru.mai.lessons.rpks.exception.StudentValidationException;
+import ru.mai.lessons.rpks.limiter.DatabaseConcurrencyLimiter;
+import ru.mai.lessons.rpks.metrics.StudentMetrics;
 import ru.mai.lessons.rpks.models.Student;
 import ru.mai.lessons.rpks.repositories.StudentRepository;
+import ru.mai.lessons.rpks.search.StudentSearchIndex;
+import ru.mai.lessons.rpks.search.TrigramIndex.Match;
 import ru.mai.lessons.rpks.services.impl.StudentServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +69,38 @@ class StudentServiceTest {
   @Mock
   private StudentMapper mapper;
 
+  @Mock
+  private Validator validator;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Spy
+  private StudentProperties properties = new StudentProperties();
+
+  @Mock
+  private StudentCache cache;
+
+  @Mock
+  private StudentIdFilter idFilter;
+
+  @Spy
+  private RequestCoalescer<Long, StudentResponse> readCoalescer =
+      new RequestCoalescer<>("students", true, Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+  @Spy
+  private DatabaseConcurrencyLimiter limiter =
+      new DatabaseConcurrencyLimiter(new StudentProperties(), new SimpleMeterRegistry());
+
+  @Mock
+  private StudentSearchIndex searchIndex;
+
+  @Spy
+  private StudentMetrics metrics = new StudentMetrics(new SimpleMeterRegistry());
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private StudentServiceImpl service;
 
@@ -32,13 +108,307 @@ class StudentServiceTest {
   @DisplayName("Тест на поиск студента по его идентификатору")
   void givenStudentId_whenGetStudent_thenReturnStudentResponse() {
     Long studentId = 1L;
-    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б");
-    Student expectedModel = new Student(1L, "Domoroschenov", "М8О-411Б");
-    when(repository.findById(studentId)).thenReturn(Optional.of(expectedModel));
-    when(mapper.modelToResponse(expectedModel)).thenReturn(expectedResponse);
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(repository.findResponseById(studentId)).thenReturn(Optional.of(expectedResponse));
 
     StudentResponse actualResponse = service.getStudent(studentId);
 
     assertEquals(expectedResponse, actualResponse);
   }
+
+  @Test
+  @DisplayName("Тест на поиск студента клиентом, которому нужна основная база")
+  void givenPrimaryRequired_whenGetStudent_thenBypassCacheAndCoalescer() {
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 1L);
+    when(repository.findResponseById(1L)).thenReturn(Optional.of(expectedResponse));
+
+    ReplicaRoutingContext.requirePrimary();
+    try {
+      assertEquals(expectedResponse, service.getStudent(1L));
+    } finally {
+      ReplicaRoutingContext.clear();
+    }
+
+    verify(cache, never()).get(1L);
+    verify(readCoalescer, never()).execute(any(), any());
+    verify(cache).put(expectedResponse, 0L);
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента с реплики без записи в кэш")
+  void givenReplicasEnabled_whenGetStudent_thenDoNotCacheReplicaRow() {
+    properties.getReplicas().setEnabled(true);
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(repository.findResponseById(1L)).thenReturn(Optional.of(expectedResponse));
+
+    assertEquals(expectedResponse, service.getStudent(1L));
+    verify(cache, never()).put(any(StudentResponse.class), anyLong());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск несуществующего студента по его идентификатору")
+  void givenUnknownStudentId_whenGetStudent_thenThrowNotFoundException() {
+    when(repository.findResponseById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(StudentNotFoundException.class, () -> service.getStudent(1L));
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента, отсутствие которого известно фильтру идентификаторов")
+  void givenDefinitelyAbsentStudentId_whenGetStudent_thenThrowNotFoundExceptionWithoutRepository() {
+    when(idFilter.isDefinitelyAbsent(1L)).thenReturn(true);
+
+    assertThrows(StudentNotFoundException.class, () -> service.getStudent(1L));
+    verify(repository, never()).findResponseById(any());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студента по его идентификатору из кэша")
+  void givenCachedStudent_whenGetStudent_thenReturnCachedResponseWithoutRepository() {
+    Long studentId = 1L;
+    StudentResponse cachedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(cache.get(studentId)).thenReturn(cachedResponse);
+
+    StudentResponse actualResponse = service.getStudent(studentId);
+
+    assertEquals(cachedResponse, actualResponse);
+    verify(repository, never()).findResponseById(any());
+  }
+
+  @Test
+  @DisplayName("Тест на поиск нескольких студентов с учетом кэша и отсутствующих идентификаторов")
+  void givenCachedAndUnknownIds_whenGetStudents_thenReturnResponsesInRequestOrder() {
+    StudentResponse cachedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    StudentResponse loadedResponse = new StudentResponse(2L, "Ivanov", "М8О-412Б", 0L);
+    when(cache.get(1L)).thenReturn(cachedResponse);
+    when(cache.get(2L)).thenReturn(null);
+    when(cache.get(3L)).thenReturn(null);
+    when(repository.findResponsesByIdIn(List.of(3L, 2L))).thenReturn(List.of(loadedResponse));
+
+    List<StudentLookupResponse> actualResponse = service.getStudents(List.of(3L, 1L, 2L, 1L));
+
+    assertEquals(
+        List.of(
+            StudentLookupResponse.missing(3L),
+            StudentLookupResponse.found(cachedResponse),
+            StudentLookupResponse.found(loadedResponse),
+            StudentLookupResponse.found(cachedResponse)
+        ),
+        actualResponse
+    );
+    verify(cache).put(loadedResponse, 0L);
+    verify(idFilter).recordFalsePositive();
+  }
+
+  @Test
+  @DisplayName("Тест на поиск нескольких студентов частями")
+  void givenMoreIdsThanChunkSize_whenGetStudents_thenQueryRepositoryByChunks() {
+    properties.getLookup().setChunkSize(2);
+    when(repository.findResponsesByIdIn(anyList())).thenReturn(List.of());
+
+    List<StudentLookupResponse> actualResponse = service.getStudents(List.of(1L, 2L, 3L));
+
+    assertEquals(3, actualResponse.size());
+    verify(repository).findResponsesByIdIn(List.of(1L, 2L));
+    verify(repository).findResponsesByIdIn(List.of(3L));
+  }
+
+  @Test
+  @DisplayName("Тест на поиск студентов по имени в порядке сходства")
+  void givenSearchMatches_whenSearchStudents_thenReturnFoundStudentsInRankOrder() {
+    StudentResponse firstResponse = new StudentResponse(2L, "Domoroschenov", "М8О-411Б", 0L);
+    when(searchIndex.search("Domoroshenov", 10)).thenReturn(List.of(new Match(2L, 0.9), new Match(1L, 0.5)));
+    when(cache.get(2L)).thenReturn(firstResponse);
+    when(cache.get(1L)).thenReturn(null);
+    when(repository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of());
+
+    List<StudentSearchResponse> actualResponse = service.searchStudents("Domoroshenov", 10);
+
+    assertEquals(List.of(new StudentSearchResponse(0.9, firstResponse)), actualResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на пакетное создание информации о студентах")
+  void givenValidRequests_whenSaveStudents_thenReturnSavedStudents() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    Student model = new Student(1L, "Domoroschenov", "М8О-411Б", 0L);
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(mapper.requestToModel(request)).thenReturn(model);
+    when(mapper.modelToResponse(model)).thenReturn(expectedResponse);
+
+    List<StudentBatchItemResponse> actualResponse = service.saveStudents(List.of(request));
+
+    assertEquals(List.of(new StudentBatchItemResponse(0, expectedResponse, null)), actualResponse);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  @DisplayName("Тест на пакетное создание информации о студентах с невалидным элементом")
+  void givenInvalidRequest_whenSaveStudents_thenReturnValidationErrors() {
+    StudentCreateRequest request = new StudentCreateRequest("", "М8О-411Б");
+    ConstraintViolation<StudentCreateRequest> violation = mock(ConstraintViolation.class);
+    when(violation.getMessage()).thenReturn("Полное имя студента не должно быть пустым");
+    when(validator.validate(request)).thenReturn(Set.of(violation));
+
+    List<StudentBatchItemResponse> actualResponse = service.saveStudents(List.of(request));
+
+    assertNull(actualResponse.get(0).getStudent());
+    assertEquals(List.of("Полное имя студента не должно быть пустым"), actualResponse.get(0).getErrors());
+    verify(repository, never()).saveAll(anyList());
+    verify(metrics).recordValidationFailed();
+  }
+
+  @Test
+  @DisplayName("Тест на пакетное создание информации о студентах со слишком длинным полным именем")
+  void givenTooLongFullName_whenSaveStudents_thenRejectOnlyThatItem() {
+    StudentCreateRequest request = new StudentCreateRequest("Domoroschenov", "М8О-411Б");
+    StudentCreateRequest tooLong = new StudentCreateRequest("D".repeat(31), "М8О-411Б");
+    Student model = new Student(1L, "Domoroschenov", "М8О-411Б", 0L);
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+      Validator realValidator = validatorFactory.getValidator();
+      when(validator.validate(any(StudentCreateRequest.class)))
+          .thenAnswer(invocation -> realValidator.validate(invocation.getArgument(0)));
+      when(mapper.requestToModel(request)).thenReturn(model);
+      when(mapper.modelToResponse(model)).thenReturn(expectedResponse);
+
+      List<StudentBatchItemResponse> actualResponse = service.saveStudents(List.of(request, tooLong));
+
+      assertEquals(expectedResponse, actualResponse.get(0).getStudent());
+      assertEquals(List.of("Полное имя студента не должно быть длиннее 30 символов"),
+          actualResponse.get(1).getErrors());
+      verify(mapper, never()).requestToModel(tooLong);
+      verify(repository).saveAll(anyList());
+    }
+  }
+
+  @Test
+  @DisplayName("Тест на получение страницы студентов группы с признаком следующей страницы")
+  void givenGroupNameAndLimit_whenListStudents_thenReturnPageWithNextAfterId() {
+    Student first = new Student(1L, "Domoroschenov", "М8О-411Б", 0L);
+    Student second = new Student(2L, "Ivanov", "М8О-411Б", 0L);
+    StudentResponse firstResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(repository.findByGroupNameAndIdGreaterThanOrderByIdAsc("М8О-411Б", 0L, Limit.of(2)))
+        .thenReturn(List.of(first, second));
+    when(mapper.modelToResponse(first)).thenReturn(firstResponse);
+
+    StudentPageResponse actualResponse = service.listStudents(0L, 1, "М8О-411Б", null);
+
+    assertEquals(new StudentPageResponse(List.of(firstResponse), 1L), actualResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на получение последней страницы студентов")
+  void givenNoMoreStudents_whenListStudents_thenReturnPageWithoutNextAfterId() {
+    when(repository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(101))).thenReturn(List.of());
+
+    StudentPageResponse actualResponse = service.listStudents(10L, 100, null, null);
+
+    assertEquals(new StudentPageResponse(List.of(), null), actualResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на частичное обновление группы студента")
+  void givenOnlyGroupName_whenPatchStudent_thenUpdateOnlyGroupName() {
+    StudentPatchRequest request = new StudentPatchRequest(1L, null, "М8О-511Б");
+    when(repository.updateGroupName(1L, "М8О-511Б")).thenReturn(1);
+
+    service.patchStudent(request);
+
+    verify(repository).updateGroupName(1L, "М8О-511Б");
+    verify(repository, never()).updateFullNameAndGroupName(any(), anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("Тест на частичное обновление несуществующего студента")
+  void givenUnknownStudentId_whenPatchStudent_thenThrowNotFoundException() {
+    StudentPatchRequest request = new StudentPatchRequest(1L, "Domoroschenov", null);
+    when(repository.updateFullName(1L, "Domoroschenov")).thenReturn(0);
+
+    assertThrows(StudentNotFoundException.class, () -> service.patchStudent(request));
+  }
+
+  @Test
+  @DisplayName("Тест на обновление информации о студенте с совпадающей версией")
+  void givenCurrentVersion_whenUpdateStudent_thenReturnUpdatedStudentResponse() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-511Б");
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-511Б", 1L);
+    when(repository.updateFullNameAndGroupNameIfVersion(1L, "Domoroschenov", "М8О-511Б", 0L)).thenReturn(1);
+    when(repository.findResponseById(1L)).thenReturn(Optional.of(expectedResponse));
+
+    StudentResponse actualResponse = service.updateStudent(request, 0L);
+
+    assertEquals(expectedResponse, actualResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на обновление информации о студенте с устаревшей версией")
+  void givenStaleVersion_whenUpdateStudent_thenThrowConflictException() {
+    StudentUpdateRequest request = new StudentUpdateRequest(1L, "Domoroschenov", "М8О-511Б");
+    when(repository.updateFullNameAndGroupNameIfVersion(1L, "Domoroschenov", "М8О-511Б", 0L)).thenReturn(0);
+    when(repository.existsById(1L)).thenReturn(true);
+
+    assertThrows(StudentConflictException.class, () -> service.updateStudent(request, 0L));
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента с устаревшей версией")
+  void givenStaleVersion_whenDeleteStudent_thenThrowConflictException() {
+    when(repository.deleteReturning(1L, 0L)).thenReturn(Optional.empty());
+    when(repository.existsById(1L)).thenReturn(true);
+
+    assertThrows(StudentConflictException.class, () -> service.deleteStudent(1L, 0L));
+  }
+
+  @Test
+  @DisplayName("Тест на удаление студента по его идентификатору")
+  void givenStudentId_whenDeleteStudent_thenReturnDeletedStudentResponse() {
+    StudentResponse expectedResponse = new StudentResponse(1L, "Domoroschenov", "М8О-411Б", 0L);
+    when(repository.deleteReturning(1L, null)).thenReturn(Optional.of(expectedResponse));
+
+    StudentResponse actualResponse = service.deleteStudent(1L, null);
+
+    assertEquals(expectedResponse, actualResponse);
+  }
+
+  @Test
+  @DisplayName("Тест на удаление несуществующего студента")
+  void givenUnknownStudentId_whenDeleteStudent_thenThrowNotFoundException() {
+    when(repository.deleteReturning(1L, null)).thenReturn(Optional.empty());
+
+    assertThrows(StudentNotFoundException.class, () -> service.deleteStudent(1L, null));
+  }
+
+  @Test
+  @DisplayName("Тест на перевод всех студентов группы в другую группу")
+  void givenGroupMoveRequest_whenMoveGroup_thenReturnMovedCountAndInvalidateMovedStudents() {
+    StudentGroupMoveRequest request = new StudentGroupMoveRequest("М8О-411Б", "М8О-511Б");
+    when(repository.moveGroup("М8О-411Б", "М8О-511Б")).thenReturn(List.of(1L, 2L));
+
+    StudentGroupMoveResponse actualResponse = service.moveGroup(request);
+
+    assertEquals(new StudentGroupMoveResponse(2), actualResponse);
+    verify(eventPublisher, times(2)).publishEvent(any(StudentChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Тест на перевод студентов пустой группы")
+  void givenEmptyGroup_whenMoveGroup_thenReturnZeroMovedCount() {
+    StudentGroupMoveRequest request = new StudentGroupMoveRequest("М8О-411Б", "М8О-511Б");
+    when(repository.moveGroup("М8О-411Б", "М8О-511Б")).thenReturn(List.of());
+
+    StudentGroupMoveResponse actualResponse = service.moveGroup(request);
+
+    assertEquals(new StudentGroupMoveResponse(0), actualResponse);
+    verify(eventPublisher, never()).publishEvent(any(StudentChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Тест на перевод студентов в ту же самую группу")
+  void givenSameGroupNames_whenMoveGroup_thenThrowValidationException() {
+    StudentGroupMoveRequest request = new StudentGroupMoveRequest("М8О-411Б", "М8О-411Б");
+
+    assertThrows(StudentValidationException.class, () -> service.moveGroup(request));
+    verify(repository, never()).moveGroup(any(), any());
+  }
 }